@@ -1,10 +1,13 @@
 package com.inventory.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class AsyncConfig {
@@ -18,4 +21,56 @@ public class AsyncConfig {
         ex.initialize();
         return ex;
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs dashboard sections in parallel. Bounded so that concurrent dashboard
+     * polls can't drain the connection pool; when saturated, submissions are
+     * rejected and the section falls back to empty data instead of running,
+     * without a timeout, on the request thread.
+     */
+    @Bean(name = "dashboardExecutor")
+    public Executor dashboardExecutor(@Value("${app.dashboard.max-concurrency:6}") int maxConcurrency) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(maxConcurrency);
+        ex.setMaxPoolSize(maxConcurrency);
+        ex.setQueueCapacity(50);
+        ex.setThreadNamePrefix("dashboard-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Runs Spring MVC async work, i.e. the streamed CSV exports. Each stream
+     * holds a connection for the whole download, so they are bounded like the
+     * export jobs; requests beyond the queue are rejected with 503.
+     */
+    @Bean(name = "streamExecutor")
+    public AsyncTaskExecutor streamExecutor(@Value("${app.export.stream-concurrency:4}") int maxConcurrency,
+                                            @Value("${app.export.stream-queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(maxConcurrency);
+        ex.setMaxPoolSize(maxConcurrency);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("stream-");
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Runs export jobs. Kept small because each job holds a connection and a
+     * cursor for its whole run; submissions beyond the queue are rejected
+     * rather than piling up.
+     */
+    @Bean(name = "exportExecutor")
+    public Executor exportExecutor(@Value("${app.export.max-concurrency:2}") int maxConcurrency,
+                                   @Value("${app.export.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(maxConcurrency);
+        ex.setMaxPoolSize(maxConcurrency);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("export-");
+        ex.initialize();
+        return ex;
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.config;
+
+import com.inventory.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each pooled id generator past the ids already in its table.
+ * <p>
+ * Databases created before these entities switched from IDENTITY have rows
+ * but no generator state, so without this the first block handed out would
+ * collide with existing ids. Runs once the schema is in place (the
+ * EntityManagerFactory dependency) and before the app serves requests. It only
+ * ever raises the stored value, so restarts and several instances are safe.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorMigration {
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignGenerators() {
+        for (String table : IdGenerators.POOLED_TABLES) {
+            Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // Pooled blocks end at the stored value, so leave a full block of headroom above max(id)
+            long floor = maxId + IdGenerators.ALLOCATION_SIZE + 1;
+
+            int updated = jdbc.update(
+                    "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ?"
+                            + " WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+                    floor, table, floor);
+
+            if (updated == 0 && !rowExists(table)) {
+                jdbc.update("INSERT INTO " + IdGenerators.TABLE
+                                + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)",
+                        table, floor);
+                updated = 1;
+            }
+
+            if (updated > 0) {
+                log.info("Id generator for {} moved to {}", table, floor);
+            }
+        }
+    }
+
+    private boolean rowExists(String name) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?",
+                Integer.class, name);
+        return count != null && count > 0;
+    }
+}
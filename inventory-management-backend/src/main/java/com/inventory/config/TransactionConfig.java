@@ -0,0 +1,38 @@
+package com.inventory.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Read-only transaction for work that runs off the request thread
+     * (each execution gets its own connection). Inject it by qualifier, so a
+     * plain {@code TransactionTemplate} never silently comes out read-only.
+     */
+    @Bean
+    public TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager txManager) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        return tx;
+    }
+
+    /**
+     * Read-only transaction for one dashboard section. The timeout is applied to
+     * every query as a JDBC statement timeout, so a section that overruns is
+     * cancelled in the database and its connection released, not just abandoned
+     * by the waiting future.
+     */
+    @Bean
+    public TransactionTemplate dashboardSectionTx(PlatformTransactionManager txManager,
+                                                  @Value("${app.dashboard.section-timeout-ms:3000}") long timeoutMs) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        tx.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000)); // seconds
+        return tx;
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventory.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor streamExecutor;
+
+    public WebMvcConfig(@Qualifier("streamExecutor") AsyncTaskExecutor streamExecutor) {
+        this.streamExecutor = streamExecutor;
+    }
+
+    // Without this, StreamingResponseBody runs on an unbounded SimpleAsyncTaskExecutor
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamExecutor);
+    }
+}
@@ -2,7 +2,9 @@ package com.inventory.controller;
 
 import com.inventory.dto.request.CustomerRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.AutocompleteResponse;
 import com.inventory.entity.Customer;
+import com.inventory.service.AutocompleteService;
 import com.inventory.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final AutocompleteService autocomplete;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<Customer>>> getAll(@PageableDefault(size = 20) Pageable pageable) {
@@ -35,6 +38,16 @@ public class CustomerController {
         return ResponseEntity.ok(ApiResponse.success(customerService.search(q, pageable)));
     }
 
+    /** Type-ahead over name and email, most orders first. */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteResponse>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                autocomplete.complete(AutocompleteService.Type.CUSTOMERS, q, null, limit)));
+    }
+
     @GetMapping("/active")
     public ResponseEntity<ApiResponse<List<Customer>>> active() {
         return ResponseEntity.ok(ApiResponse.success(customerService.getActive()));
@@ -1,13 +1,21 @@
 package com.inventory.controller;
 
+import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.ExportJobResponse;
+import com.inventory.service.ExportJobService;
 import com.inventory.service.ExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/export")
@@ -16,25 +24,82 @@ import java.time.LocalDateTime;
 public class ExportController {
 
     private final ExportService exportService;
+    private final ExportJobService exportJobs;
 
     @GetMapping("/products")
-    public ResponseEntity<byte[]> productsCsv() {
-        byte[] csv = exportService.exportProductsToCsv();
+    public ResponseEntity<StreamingResponseBody> productsCsv() {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv);
+                .body(exportService::writeProductsCsv);
     }
 
     @GetMapping("/sales-orders")
-    public ResponseEntity<byte[]> salesOrdersCsv(
+    public ResponseEntity<StreamingResponseBody> salesOrdersCsv(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
     ) {
-        byte[] csv = exportService.exportSalesOrdersToCsv(startDate, endDate);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=sales-orders.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv);
+                .body(out -> exportService.writeSalesOrdersCsv(startDate, endDate, out));
     }
-}
\ No newline at end of file
+
+    /** Order lines for analytics; gzip-compressed since the denormalized columns repeat heavily. */
+    @GetMapping("/sales-lines")
+    public ResponseEntity<StreamingResponseBody> salesLinesCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+    ) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=sales-lines.csv.gz")
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(out -> {
+                    GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024);
+                    exportService.writeSalesLinesCsv(startDate, endDate, gz);
+                    gz.finish();
+                });
+    }
+
+    /** Order lines as a columnar file for analytics tools; pages are compressed inside the file. */
+    @GetMapping("/sales-lines.parquet")
+    public ResponseEntity<StreamingResponseBody> salesLinesParquet(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+    ) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=sales-lines.parquet")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(out -> exportService.writeSalesLinesParquet(startDate, endDate, out));
+    }
+
+    // --- BACKGROUND JOBS ---
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> submitJob(
+            @RequestParam ExportJobResponse.Type type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Export queued", exportJobs.submit(type, startDate, endDate)));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> jobStatus(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(exportJobs.status(id)));
+    }
+
+    /** Serves the gzip file as a resource, so Range / If-Range requests can resume a download. */
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String id) {
+        FileSystemResource file = new FileSystemResource(exportJobs.result(id));
+        ExportJobResponse job = exportJobs.status(id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + exportJobs.fileName(id))
+                .eTag(id)
+                .lastModified(job.getCompletedAt().atZone(ZoneId.systemDefault()))
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(file);
+    }
+}
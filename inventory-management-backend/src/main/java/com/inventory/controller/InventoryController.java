@@ -2,6 +2,7 @@ package com.inventory.controller;
 
 import com.inventory.dto.request.StockAdjustmentRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.CursorPage;
 import com.inventory.entity.StockAdjustment;
 import com.inventory.service.AutoReorderService; // <-- Import
 import com.inventory.service.InventoryService;
@@ -35,6 +36,17 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(inventoryService.history(productId, pageable)));
     }
 
+    /** Keyset-paged history, newest first: pass {@code nextCursor} back as {@code cursor}. */
+    @GetMapping("/adjustments/{productId}/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StockAdjustment>>> historyByCursor(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.historyAfter(productId, cursor, size, includeTotal)));
+    }
+
     // --- NEW ENDPOINT ---
     @PostMapping("/bot/trigger")
     @PreAuthorize("hasRole('ADMIN')")
@@ -1,7 +1,8 @@
 package com.inventory.controller;
 
 import com.inventory.dto.response.ApiResponse;
-import com.inventory.entity.Notification;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.NotificationResponse;
 import com.inventory.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
@@ -20,14 +21,24 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Notification>>> myNotifications(
+    public ResponseEntity<ApiResponse<Page<NotificationResponse>>> myNotifications(
             @PageableDefault(size = 20) Pageable pageable
     ) {
         return ResponseEntity.ok(ApiResponse.success(notificationService.myNotifications(pageable)));
     }
 
+    /** Keyset-paged notifications, newest first: pass {@code nextCursor} back as {@code cursor}. */
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> myNotificationsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.myNotificationsAfter(cursor, size, includeTotal)));
+    }
+
     @GetMapping("/unread")
-    public ResponseEntity<ApiResponse<List<Notification>>> myUnread() {
+    public ResponseEntity<ApiResponse<List<NotificationResponse>>> myUnread() {
         return ResponseEntity.ok(ApiResponse.success(notificationService.myUnread()));
     }
 
@@ -2,7 +2,12 @@ package com.inventory.controller;
 
 import com.inventory.dto.request.ProductRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.AutocompleteResponse;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.ProductLookupResponse;
 import com.inventory.dto.response.ProductResponse;
+import com.inventory.service.AutocompleteService;
+import com.inventory.service.ProductLookupIndex;
 import com.inventory.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductLookupIndex productLookup;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAll(
@@ -29,6 +35,16 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(productService.getAll(pageable)));
     }
 
+    /** Keyset-paged listing by id: pass {@code nextCursor} back as {@code cursor}. */
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ProductResponse>>> getAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getAllAfter(cursor, size, includeTotal)));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> search(
             @RequestParam String q,
@@ -37,6 +53,24 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(productService.search(q, pageable)));
     }
 
+    /** Type-ahead suggestions, most sold first; cheaper than {@code /search} on every keypress. */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteResponse>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(productService.autocomplete(q, limit)));
+    }
+
+    /**
+     * POS scan: barcode or SKU to a compact product record, served from memory.
+     * Changes show up within {@code app.product-lookup.refresh-ms} of commit.
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<ApiResponse<ProductLookupResponse>> lookup(@RequestParam String code) {
+        return ResponseEntity.ok(ApiResponse.success(productLookup.lookup(code)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> get(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(productService.get(id)));
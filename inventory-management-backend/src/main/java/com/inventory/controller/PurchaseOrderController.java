@@ -3,6 +3,8 @@ package com.inventory.controller;
 import com.inventory.dto.request.PurchaseOrderReceiveItemRequest;
 import com.inventory.dto.request.PurchaseOrderRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.PurchaseOrderSummary;
 import com.inventory.dto.response.PurchaseOrderResponse;
 import com.inventory.service.PurchaseOrderService;
 import jakarta.validation.Valid;
@@ -26,9 +28,18 @@ public class PurchaseOrderController {
     private final PurchaseOrderService purchaseOrderService;
 
     @GetMapping("/orders")
-    public ResponseEntity<ApiResponse<Page<PurchaseOrderResponse>>> list(@PageableDefault(size = 20) Pageable pageable) {
-        Page<PurchaseOrderResponse> page = purchaseOrderService.list(pageable).map(PurchaseOrderResponse::fromEntity);
-        return ResponseEntity.ok(ApiResponse.success(page));
+    public ResponseEntity<ApiResponse<Page<PurchaseOrderSummary>>> list(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(purchaseOrderService.list(pageable)));
+    }
+
+    /** Keyset-paged listing for deep scrolling: pass {@code nextCursor} back as {@code cursor}. */
+    @GetMapping("/orders/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<PurchaseOrderSummary>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(purchaseOrderService.listAfter(cursor, size, includeTotal)));
     }
 
     @GetMapping("/orders/{id}")
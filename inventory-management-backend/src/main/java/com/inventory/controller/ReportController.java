@@ -1,14 +1,20 @@
 package com.inventory.controller;
 
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.entity.SalesOrder;
 import com.inventory.service.ReportService;
+import com.inventory.service.SalesCube;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/reports")
@@ -16,6 +22,7 @@ import java.time.LocalDateTime;
 public class ReportController {
 
     private final ReportService reportService;
+    private final SalesCube salesCube;
 
     @GetMapping("/inventory")
     @PreAuthorize("hasAnyRole('ADMIN','INVENTORY_STAFF')")
@@ -38,4 +45,34 @@ public class ReportController {
     ) {
         return ResponseEntity.ok(ApiResponse.success(reportService.salesReport(startDate, endDate, productId)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Ad-hoc slice of sales lines, served from the in-memory cube.
+     * Example: {@code /reports/cube?groupBy=time,category&grain=month&from=2024-01-01}.
+     */
+    @GetMapping("/cube")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SalesCube.CubeResult>> cube(
+            @RequestParam(defaultValue = "time") List<String> groupBy,
+            @RequestParam(defaultValue = "day") String grain,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) List<String> status
+    ) {
+        SalesCube.CubeQuery query = SalesCube.CubeQuery.builder()
+                .groupBy(groupBy.stream().map(d -> SalesCube.parse(SalesCube.Dimension.class, d)).toList())
+                .grain(SalesCube.parse(SalesCube.Grain.class, grain))
+                .from(from)
+                .to(to)
+                .department(department)
+                .category(category)
+                .sku(sku)
+                .statuses(status == null ? Set.of()
+                        : status.stream().map(s -> SalesCube.parse(SalesOrder.OrderStatus.class, s)).collect(Collectors.toSet()))
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(salesCube.query(query)));
+    }
+}
@@ -2,6 +2,8 @@ package com.inventory.controller;
 
 import com.inventory.dto.request.SalesOrderRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.SalesOrderSummary;
 import com.inventory.dto.response.SalesOrderResponse;
 import com.inventory.service.SalesOrderService;
 import jakarta.validation.Valid;
@@ -24,9 +26,18 @@ public class SalesOrderController {
     private final SalesOrderService salesOrderService;
 
     @GetMapping("/orders")
-    public ResponseEntity<ApiResponse<Page<SalesOrderResponse>>> list(@PageableDefault(size = 20) Pageable pageable) {
-        Page<SalesOrderResponse> page = salesOrderService.list(pageable).map(SalesOrderResponse::fromEntity);
-        return ResponseEntity.ok(ApiResponse.success(page));
+    public ResponseEntity<ApiResponse<Page<SalesOrderSummary>>> list(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(salesOrderService.list(pageable)));
+    }
+
+    /** Keyset-paged listing for deep scrolling: pass {@code nextCursor} back as {@code cursor}. */
+    @GetMapping("/orders/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<SalesOrderSummary>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(salesOrderService.listAfter(cursor, size, includeTotal)));
     }
 
     @GetMapping("/orders/{id}")
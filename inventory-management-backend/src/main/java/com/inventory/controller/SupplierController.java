@@ -2,7 +2,9 @@ package com.inventory.controller;
 
 import com.inventory.dto.request.SupplierRequest;
 import com.inventory.dto.response.ApiResponse;
+import com.inventory.dto.response.AutocompleteResponse;
 import com.inventory.dto.response.SupplierResponse;
+import com.inventory.service.AutocompleteService;
 import com.inventory.service.SupplierService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import java.util.List;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final AutocompleteService autocomplete;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<SupplierResponse>>> getAll(
@@ -37,6 +40,16 @@ public class SupplierController {
         return ResponseEntity.ok(ApiResponse.success(supplierService.search(q, pageable)));
     }
 
+    /** Type-ahead over name and email, most purchase orders first. */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteResponse>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                autocomplete.complete(AutocompleteService.Type.SUPPLIERS, q, null, limit)));
+    }
+
     @GetMapping("/active")
     public ResponseEntity<ApiResponse<List<SupplierResponse>>> active() {
         return ResponseEntity.ok(ApiResponse.success(supplierService.getActive()));
@@ -0,0 +1,13 @@
+package com.inventory.dto.response;
+
+import lombok.*;
+
+/** One type-ahead suggestion; {@code detail} is the SKU or email shown next to the name. */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class AutocompleteResponse {
+    private Long id;
+    private String label;
+    private String detail;
+}
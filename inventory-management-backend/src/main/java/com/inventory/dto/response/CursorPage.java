@@ -0,0 +1,37 @@
+package com.inventory.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the
+ * last page; {@code totalElements} is only filled in when the caller asked for
+ * it, since counting is the part of OFFSET paging that grows with the table.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private Long totalElements;
+
+    /**
+     * Builds a page from up to {@code size + 1} rows: the extra row, if present,
+     * only signals that another page follows and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf, Long totalElements) {
+        boolean more = rows.size() > size;
+        List<T> content = more ? List.copyOf(rows.subList(0, size)) : rows;
+        String next = more ? cursorOf.apply(content.get(size - 1)) : null;
+        return new CursorPage<>(content, size, next, totalElements);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, size, nextCursor, totalElements);
+    }
+}
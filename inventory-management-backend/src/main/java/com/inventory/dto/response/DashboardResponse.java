@@ -22,6 +22,14 @@ public class DashboardResponse {
     private List<ExpiringItem> expiringSoon;
     private List<DeadStockItem> deadStock;
 
+    // Sections that failed or timed out and carry empty fallback data
+    @Builder.Default
+    private List<String> degradedSections = List.of();
+
+    public boolean isDegraded() {
+        return degradedSections != null && !degradedSections.isEmpty();
+    }
+
     @Getter @Setter
     @NoArgsConstructor @AllArgsConstructor
     @Builder
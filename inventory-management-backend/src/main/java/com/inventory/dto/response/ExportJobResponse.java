@@ -0,0 +1,29 @@
+package com.inventory.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ExportJobResponse {
+    private String id;
+    private Type type;
+    private Status status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private Long sizeBytes;
+    private String error;
+
+    public enum Type {
+        PRODUCTS, SALES_ORDERS, SALES_LINES, STOCK_ADJUSTMENTS
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.dto.response;
+
+import com.inventory.entity.Notification;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Notification as listed to its owner; built by a JPQL constructor expression, without the user. */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class NotificationResponse {
+    private Long id;
+    private Notification.NotificationType type;
+    private String title;
+    private String message;
+    private String referenceType;
+    private Long referenceId;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.inventory.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ProductLookupResponse {
+    private Long id;
+    private String sku;
+    private String barcode;
+    private String name;
+    private BigDecimal unitPrice;
+    private Integer quantityOnHand;   // as of the lookup map's last refresh, not a reservation
+    private Boolean isExpired;
+}
@@ -0,0 +1,27 @@
+package com.inventory.dto.response;
+
+import com.inventory.entity.PurchaseOrder;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Purchase order list row: the header columns the list shows and a line count.
+ * Built directly by a JPQL constructor expression; use
+ * {@link PurchaseOrderResponse} (the detail endpoint) for the lines.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PurchaseOrderSummary {
+    private Long id;
+    private String orderNumber;
+    private String supplierName;
+    private LocalDateTime orderDate;
+    private LocalDate expectedDate;
+    private PurchaseOrder.PurchaseOrderStatus status;
+    private BigDecimal totalAmount;
+    private Integer itemCount;
+}
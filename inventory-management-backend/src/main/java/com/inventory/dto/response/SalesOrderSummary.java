@@ -0,0 +1,25 @@
+package com.inventory.dto.response;
+
+import com.inventory.entity.SalesOrder;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sales order list row: the header columns the list shows and a line count.
+ * Built directly by a JPQL constructor expression, so the order, its lines and
+ * their products are never loaded; use {@link SalesOrderResponse} for details.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SalesOrderSummary {
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private LocalDateTime orderDate;
+    private SalesOrder.OrderStatus status;
+    private BigDecimal totalAmount;
+    private Integer itemCount;
+}
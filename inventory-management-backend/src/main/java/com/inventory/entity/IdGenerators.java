@@ -0,0 +1,26 @@
+package com.inventory.entity;
+
+import java.util.List;
+
+/**
+ * Shared settings for the pooled table-based id generators.
+ * <p>
+ * High-volume entities take ids from blocks reserved in {@code id_generators}
+ * instead of using IDENTITY, which lets Hibernate batch their inserts. Each
+ * entity has its own row, named after its table.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    /** Tables whose ids come from this generator; also the generator row names. */
+    public static final List<String> POOLED_TABLES = List.of(
+            "sales_orders", "sales_order_items", "purchase_order_items", "stock_adjustments", "notifications",
+            "notification_outbox");
+
+    private IdGenerators() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated non-cancelled sales per day and department (department of the
+ * order's creator, "" when unassigned). Maintained incrementally by
+ * SalesRollupService and rebuilt from sales_orders on demand.
+ */
+@Entity
+@Table(
+        name = "sales_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_department", columnNames = {"sales_date", "department"})
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class SalesDailyRollup {
+
+    public static final String NO_DEPARTMENT = "";
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(nullable = false, length = 100)
+    @Builder.Default
+    private String department = NO_DEPARTMENT;
+
+    @Column(name = "order_count", nullable = false)
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @Column(precision = 16, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
@@ -15,7 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "sales_orders")
+@Table(name = "sales_orders", indexes = @Index(name = "idx_sales_orders_date_id", columnList = "order_date, id"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -25,7 +25,11 @@ import java.util.List;
   property = "id")
 public class SalesOrder {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sales_orders_id")
+    @TableGenerator(name = "sales_orders_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "sales_orders", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "order_number", nullable = false, unique = true, length = 50)
@@ -0,0 +1,13 @@
+package com.inventory.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a customer is created, updated or (soft) deleted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CustomerChangedEvent {
+    private final Long customerId;
+}
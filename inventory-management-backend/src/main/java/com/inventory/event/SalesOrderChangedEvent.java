@@ -0,0 +1,13 @@
+package com.inventory.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a sales order is created or changes status.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SalesOrderChangedEvent {
+    private final Long orderId;
+}
@@ -0,0 +1,16 @@
+package com.inventory.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * Published when quantity on hand changes for one or more products
+ * (sales, cancellations, stock adjustments, PO receipts).
+ */
+@Getter
+@RequiredArgsConstructor
+public class StockChangedEvent {
+    private final Collection<Long> productIds;
+}
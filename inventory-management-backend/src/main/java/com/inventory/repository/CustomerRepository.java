@@ -1,11 +1,18 @@
 package com.inventory.repository;
 
 import com.inventory.entity.Customer;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface CustomerRepository extends org.springframework.data.jpa.repository.JpaRepository<Customer, Long> {
 
@@ -18,4 +25,28 @@ public interface CustomerRepository extends org.springframework.data.jpa.reposit
            LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')))
     """)
     Page<Customer> searchCustomers(@Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+
+    // Autocomplete rows: id, name, email, sales orders that were not cancelled.
+    String AUTOCOMPLETE_ROWS = """
+        SELECT c.id, c.name, c.email,
+               (SELECT COUNT(o) FROM SalesOrder o
+                WHERE o.customer = c AND o.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED)
+        FROM Customer c
+        WHERE c.isActive = true
+    """;
+
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(AUTOCOMPLETE_ROWS)
+    Stream<Object[]> streamAutocompleteRows();
+
+    @Query(AUTOCOMPLETE_ROWS + " AND c.id IN :ids")
+    List<Object[]> findAutocompleteRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Prefix match on the name, any word of the name, or the email; used until the autocomplete index is loaded.
+    @Query(AUTOCOMPLETE_ROWS + """
+          AND (LOWER(c.name) LIKE CONCAT(:prefix, '%') OR LOWER(c.name) LIKE CONCAT('% ', :prefix, '%')
+               OR LOWER(c.email) LIKE CONCAT(:prefix, '%'))
+    """)
+    List<Object[]> findAutocompleteRows(@Param("prefix") String prefix, Pageable pageable);
+}
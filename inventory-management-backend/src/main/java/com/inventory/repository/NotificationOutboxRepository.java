@@ -0,0 +1,40 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Notification;
+import com.inventory.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query("""
+        SELECT o FROM NotificationOutbox o
+        WHERE o.processedAt IS NULL AND o.availableAt <= :now
+        ORDER BY o.id
+    """)
+    List<NotificationOutbox> findReady(@Param("now") LocalDateTime now, Pageable pageable);
+
+    Optional<NotificationOutbox> findFirstByTypeAndReferenceIdOrderByIdDesc(Notification.NotificationType type,
+                                                                           Long referenceId);
+
+    // Conditional so that only one dispatcher (thread or instance) wins each entry
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.processedAt = :now WHERE o.id = :id AND o.processedAt IS NULL")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Targeted so a concurrent claim is never overwritten; 0 means the dispatcher got there first
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.message = :message WHERE o.id = :id AND o.processedAt IS NULL")
+    int updatePendingMessage(@Param("id") Long id, @Param("message") String message);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,20 +1,40 @@
 package com.inventory.repository;
 
+import com.inventory.dto.response.NotificationResponse;
 import com.inventory.entity.Notification;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends org.springframework.data.jpa.repository.JpaRepository<Notification, Long> {
 
-    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
-    Page<Notification> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    // List view: the notification's own columns; the (EAGER) user is not loaded.
+    String LIST_VIEW = """
+        SELECT new com.inventory.dto.response.NotificationResponse(
+               n.id, n.type, n.title, n.message, n.referenceType, n.referenceId, n.isRead, n.createdAt)
+        FROM Notification n
+    """;
 
-    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
-    List<Notification> findUnreadByUserId(@Param("userId") Long userId);
+    @Query(value = LIST_VIEW + " WHERE n.user.id = :userId ORDER BY n.createdAt DESC",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId")
+    Page<NotificationResponse> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset paging, newest first: the page after (at, id).
+    @Query(LIST_VIEW + """
+        WHERE n.user.id = :userId AND (n.createdAt < :at OR (n.createdAt = :at AND n.id < :id))
+        ORDER BY n.createdAt DESC, n.id DESC
+    """)
+    List<NotificationResponse> findByUserIdBefore(@Param("userId") Long userId, @Param("at") LocalDateTime at,
+                                          @Param("id") Long id, Pageable limit);
+
+    long countByUserId(Long userId);
+
+    @Query(LIST_VIEW + " WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
+    List<NotificationResponse> findUnreadByUserId(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
     Integer countUnreadByUserId(@Param("userId") Long userId);
@@ -23,6 +43,16 @@ public interface NotificationRepository extends org.springframework.data.jpa.rep
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id")
     void markAsRead(@Param("id") Long id);
 
+    @Modifying
+    @Query("""
+        UPDATE Notification n SET n.message = :message
+        WHERE n.type = :type AND n.referenceId = :referenceId AND n.isRead = false AND n.createdAt >= :since
+    """)
+    int refreshUnreadMessage(@Param("type") Notification.NotificationType type,
+                             @Param("referenceId") Long referenceId,
+                             @Param("since") LocalDateTime since,
+                             @Param("message") String message);
+
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId")
     void markAllAsRead(@Param("userId") Long userId);
@@ -2,6 +2,7 @@ package com.inventory.repository;
 
 import com.inventory.entity.Product;
 import jakarta.persistence.LockModeType; // <--- ADDED
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page; // <--- ADDED
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -10,17 +11,90 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductStockRepository {
 
     Optional<Product> findBySku(String sku);
     boolean existsBySku(String sku);
 
     List<Product> findByIsActiveTrue();
 
-    Page<Product> findByIsActiveTrue(Pageable pageable);
+    /**
+     * Product list row: the product's own columns and its category, read as a
+     * projection so list pages do not load entities or their EAGER supplier links.
+     */
+    interface ListView {
+        Long getId();
+        String getSku();
+        String getName();
+        String getDescription();
+        Long getCategoryId();
+        String getCategoryName();
+        BigDecimal getUnitPrice();
+        BigDecimal getCostPrice();
+        Integer getQuantityOnHand();
+        Integer getReorderPoint();
+        Integer getReorderQuantity();
+        Boolean getAutoReorderEnabled();
+        LocalDate getExpiryDate();
+        String getUnitOfMeasure();
+        String getLocation();
+        String getBarcode();
+        String getImageUrl();
+        Boolean getIsActive();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    String LIST_VIEW = """
+        SELECT p.id AS id, p.sku AS sku, p.name AS name, p.description AS description,
+               c.id AS categoryId, c.name AS categoryName, p.unitPrice AS unitPrice, p.costPrice AS costPrice,
+               p.quantityOnHand AS quantityOnHand, p.reorderPoint AS reorderPoint,
+               p.reorderQuantity AS reorderQuantity, p.autoReorderEnabled AS autoReorderEnabled,
+               p.expiryDate AS expiryDate, p.unitOfMeasure AS unitOfMeasure, p.location AS location,
+               p.barcode AS barcode, p.imageUrl AS imageUrl, p.isActive AS isActive,
+               p.createdAt AS createdAt, p.updatedAt AS updatedAt
+        FROM Product p LEFT JOIN p.category c
+    """;
+
+    @Query(value = LIST_VIEW + " WHERE p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ListView> findActiveList(Pageable pageable);
+
+    @Query(LIST_VIEW + " WHERE p.isActive = true AND p.id IN :ids")
+    List<ListView> findActiveListByIds(@Param("ids") Collection<Long> ids);
+
+    long countByIsActiveTrue();
+
+    // Keyset paging by id: active products after :afterId, optionally limited to one department (category).
+    @Query(LIST_VIEW + " WHERE p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<ListView> findActiveAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(LIST_VIEW + " WHERE c.name = :departmentName AND p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<ListView> findActiveInCategoryAfter(@Param("departmentName") String departmentName,
+                                            @Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT COUNT(p) FROM Product p JOIN p.category c WHERE c.name = :departmentName AND p.isActive = true")
+    long countActiveInCategory(@Param("departmentName") String departmentName);
+
+    // Export rows: sku, name, category, qty, reorder point, cost, unit price.
+    // Scalar projection over a forward-only cursor; must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+        SELECT p.sku, p.name, c.name, p.quantityOnHand, p.reorderPoint, p.costPrice, p.unitPrice
+        FROM Product p LEFT JOIN p.category c
+        WHERE p.isActive = true
+        ORDER BY p.id
+    """)
+    Stream<Object[]> streamActiveForExport();
 
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.quantityOnHand <= p.reorderPoint")
     List<Product> findLowStockProducts();
@@ -59,59 +133,126 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     """)
     List<Product> findBySupplierId(@Param("supplierId") Long supplierId);
 
-    @Query("""
-        SELECT p FROM Product p
+    @Query(value = LIST_VIEW + """
+        WHERE (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+               LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))
+          AND p.isActive = true
+    """, countQuery = """
+        SELECT COUNT(p) FROM Product p
         WHERE (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
                LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))
           AND p.isActive = true
     """)
-    Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
+    Page<ListView> searchProducts(@Param("search") String search, Pageable pageable);
 
-    @Query("""
-        SELECT p FROM Product p 
-        JOIN p.category c
-        WHERE c.name = :departmentName AND p.isActive = true
-    """)
-    Page<Product> findByCategoryName(@Param("departmentName") String departmentName, Pageable pageable);
+    @Query(value = LIST_VIEW + " WHERE c.name = :departmentName AND p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p JOIN p.category c WHERE c.name = :departmentName AND p.isActive = true")
+    Page<ListView> findByCategoryName(@Param("departmentName") String departmentName, Pageable pageable);
 
-    @Query("""
-        SELECT p FROM Product p 
+    @Query(value = LIST_VIEW + """
+        WHERE c.name = :departmentName
+          AND p.isActive = true
+          AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
+               OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))
+    """, countQuery = """
+        SELECT COUNT(p) FROM Product p
         JOIN p.category c
         WHERE c.name = :departmentName
           AND p.isActive = true
-          AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) 
+          AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))
                OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))
     """)
-    Page<Product> searchByCategoryName(@Param("departmentName") String departmentName, @Param("search") String search, Pageable pageable);
+    Page<ListView> searchByCategoryName(@Param("departmentName") String departmentName, @Param("search") String search, Pageable pageable);
+
+    // Point-lookup rows: id, sku, barcode, name, unit price, quantity, expiry date.
+    String LOOKUP_ROWS = "SELECT p.id, p.sku, p.barcode, p.name, p.unitPrice, p.quantityOnHand, p.expiryDate "
+            + "FROM Product p WHERE p.isActive = true";
+
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(LOOKUP_ROWS)
+    Stream<Object[]> streamLookupRows();
+
+    @Query(LOOKUP_ROWS + " AND p.id IN :ids")
+    List<Object[]> findLookupRows(@Param("ids") Collection<Long> ids);
+
+    @Query(LOOKUP_ROWS + " AND (p.barcode = :code OR p.sku = :code)")
+    List<Object[]> findLookupRowsByCode(@Param("code") String code);
 
-    @Query("SELECT COALESCE(SUM(p.quantityOnHand * p.costPrice), 0) FROM Product p WHERE p.isActive = true")
-    BigDecimal calculateTotalInventoryValue();
+    // Search index rows: id, name, sku, category id. Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, p.name, p.sku, c.id FROM Product p LEFT JOIN p.category c WHERE p.isActive = true")
+    Stream<Object[]> streamSearchRows();
 
-    @Query("SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.quantityOnHand <= p.reorderPoint")
-    Integer countLowStockProducts();
+    @Query("SELECT p.id, p.name, p.sku, c.id FROM Product p LEFT JOIN p.category c WHERE p.isActive = true AND p.id IN :ids")
+    List<Object[]> findSearchRows(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT COUNT(p) FROM Product p JOIN p.category c WHERE c.name = :dept AND p.isActive = true")
-    Integer countActiveProductsByDept(@Param("dept") String dept);
+    // Autocomplete rows: id, name, sku, category id, units sold on orders that were not cancelled.
+    String AUTOCOMPLETE_ROWS = """
+        SELECT p.id, p.name, p.sku, c.id,
+               (SELECT COALESCE(SUM(i.quantity), 0) FROM SalesOrderItem i
+                WHERE i.product = p AND i.salesOrder.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED)
+        FROM Product p LEFT JOIN p.category c
+        WHERE p.isActive = true
+    """;
 
-    @Query("SELECT COALESCE(SUM(p.quantityOnHand * p.costPrice), 0) FROM Product p JOIN p.category c WHERE c.name = :dept AND p.isActive = true")
-    BigDecimal calculateTotalInventoryValueByDept(@Param("dept") String dept);
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(AUTOCOMPLETE_ROWS)
+    Stream<Object[]> streamAutocompleteRows();
 
-    @Query("SELECT COUNT(p) FROM Product p JOIN p.category c WHERE c.name = :dept AND p.isActive = true AND p.quantityOnHand <= p.reorderPoint")
-    Integer countLowStockProductsByDept(@Param("dept") String dept);
+    @Query(AUTOCOMPLETE_ROWS + " AND p.id IN :ids")
+    List<Object[]> findAutocompleteRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Prefix match on the name, any word of the name, or the SKU; used until the autocomplete index is loaded.
+    @Query(AUTOCOMPLETE_ROWS + """
+          AND (:categoryId IS NULL OR c.id = :categoryId)
+          AND (LOWER(p.name) LIKE CONCAT(:prefix, '%') OR LOWER(p.name) LIKE CONCAT('% ', :prefix, '%')
+               OR LOWER(p.sku) LIKE CONCAT(:prefix, '%'))
+    """)
+    List<Object[]> findAutocompleteRows(@Param("prefix") String prefix, @Param("categoryId") Long categoryId,
+                                        Pageable pageable);
+
+    /**
+     * Inventory dashboard totals in one round trip:
+     * [product count, total quantity, out-of-stock count, low-stock count, inventory value].
+     * A null dept aggregates every active product.
+     */
+    @Query("""
+        SELECT COUNT(p),
+               COALESCE(SUM(COALESCE(p.quantityOnHand, 0)), 0),
+               COALESCE(SUM(CASE WHEN COALESCE(p.quantityOnHand, 0) = 0 THEN 1 ELSE 0 END), 0),
+               COALESCE(SUM(CASE WHEN COALESCE(p.quantityOnHand, 0) <= COALESCE(p.reorderPoint, 0) THEN 1 ELSE 0 END), 0),
+               COALESCE(SUM(COALESCE(p.quantityOnHand, 0) * p.costPrice), 0)
+        FROM Product p LEFT JOIN p.category c
+        WHERE p.isActive = true AND (:dept IS NULL OR LOWER(c.name) = LOWER(:dept))
+    """)
+    List<Object[]> aggregateInventory(@Param("dept") String dept);
 
     @Modifying
     @Query("UPDATE Product p SET p.quantityOnHand = COALESCE(p.quantityOnHand, 0) + :quantity WHERE p.id = :productId")
     void increaseStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 
-    @Modifying
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
     @Query("""
-        UPDATE Product p
-        SET p.quantityOnHand = COALESCE(p.quantityOnHand, 0) - :quantity
-        WHERE p.id = :productId AND COALESCE(p.quantityOnHand, 0) >= :quantity
+        SELECT p FROM Product p
+        WHERE p.isActive = true AND p.autoReorderEnabled = true
+          AND COALESCE(p.quantityOnHand, 0) <= COALESCE(p.reorderPoint, 0)
     """)
-    int decreaseStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+    List<Product> findAutoReorderCandidates();
 
+    @Query("""
+        SELECT p FROM Product p
+        WHERE p.id IN :ids AND p.isActive = true AND p.autoReorderEnabled = true
+          AND COALESCE(p.quantityOnHand, 0) <= COALESCE(p.reorderPoint, 0)
+    """)
+    List<Product> findAutoReorderCandidatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Locks in id order so concurrent multi-line orders can't deadlock each other
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT p FROM Product p WHERE p.id = :id")
-    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
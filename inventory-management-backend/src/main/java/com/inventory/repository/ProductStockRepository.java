@@ -0,0 +1,18 @@
+package com.inventory.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-level stock operations that Spring Data derived/JPQL queries can't batch.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Decrements stock for every product in one JDBC batch. Each row is only
+     * updated if it still has enough stock.
+     *
+     * @return product ids whose row was not updated (insufficient stock or missing)
+     */
+    List<Long> decreaseStockBatch(Map<Long, Integer> quantitiesByProduct);
+}
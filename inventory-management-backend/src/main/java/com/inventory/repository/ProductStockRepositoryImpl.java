@@ -0,0 +1,42 @@
+package com.inventory.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREASE_SQL = """
+        UPDATE products
+        SET quantity_on_hand = COALESCE(quantity_on_hand, 0) - ?
+        WHERE id = ? AND COALESCE(quantity_on_hand, 0) >= ?
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public List<Long> decreaseStockBatch(Map<Long, Integer> quantitiesByProduct) {
+        List<Object[]> args = new ArrayList<>(quantitiesByProduct.size());
+        List<Long> ids = new ArrayList<>(quantitiesByProduct.size());
+        quantitiesByProduct.forEach((id, qty) -> {
+            ids.add(id);
+            args.add(new Object[]{qty, id, qty});
+        });
+
+        int[] counts = jdbc.batchUpdate(DECREASE_SQL, args);
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // Drivers that rewrite batches may only report SUCCESS_NO_INFO
+            if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO) {
+                failed.add(ids.get(i));
+            }
+        }
+        return failed;
+    }
+}
@@ -1,9 +1,14 @@
 package com.inventory.repository;
 
+import com.inventory.dto.response.PurchaseOrderSummary;
 import com.inventory.entity.PurchaseOrder;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +20,27 @@ public interface PurchaseOrderRepository extends org.springframework.data.jpa.re
     @EntityGraph(attributePaths = {"items","items.product","supplier","createdBy","updatedBy","approvedBy"})
     Optional<PurchaseOrder> findById(Long id);
 
+    // List view: header columns and a line count, no entities (see PurchaseOrderSummary).
+    String SUMMARY = """
+        SELECT new com.inventory.dto.response.PurchaseOrderSummary(
+               o.id, o.orderNumber, s.name, o.orderDate, o.expectedDate, o.status, o.totalAmount, SIZE(o.items))
+        FROM PurchaseOrder o JOIN o.supplier s
+    """;
+
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(o) FROM PurchaseOrder o")
+    Page<PurchaseOrderSummary> findSummaries(Pageable pageable);
+
+    // Keyset paging, newest first: the page after (at, id).
+    @Query(SUMMARY + """
+        WHERE o.orderDate < :at OR (o.orderDate = :at AND o.id < :id)
+        ORDER BY o.orderDate DESC, o.id DESC
+    """)
+    List<PurchaseOrderSummary> findSummariesBefore(@Param("at") LocalDateTime at, @Param("id") Long id, Pageable limit);
+
     @EntityGraph(attributePaths = {"items","items.product","supplier"})
     List<PurchaseOrder> findByStatusIn(List<PurchaseOrder.PurchaseOrderStatus> statuses);
+
+    // Id-only projection: avoids loading orders, items and products just to test membership
+    @Query("SELECT DISTINCT i.product.id FROM PurchaseOrderItem i WHERE i.purchaseOrder.status IN :statuses")
+    List<Long> findProductIdsWithOrderStatusIn(@Param("statuses") Collection<PurchaseOrder.PurchaseOrderStatus> statuses);
 }
\ No newline at end of file
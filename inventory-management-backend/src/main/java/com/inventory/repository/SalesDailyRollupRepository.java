@@ -0,0 +1,73 @@
+package com.inventory.repository;
+
+import com.inventory.entity.SalesDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Long> {
+
+    // --- INCREMENTAL MAINTENANCE ---
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO sales_daily_rollup (sales_date, department, order_count, revenue)
+        VALUES (:day, :dept, :orders, :revenue)
+        ON DUPLICATE KEY UPDATE order_count = order_count + :orders, revenue = revenue + :revenue
+    """, nativeQuery = true)
+    void increment(@Param("day") LocalDate day, @Param("dept") String dept,
+                   @Param("orders") long orders, @Param("revenue") BigDecimal revenue);
+
+    // --- REBUILD ---
+
+    @Modifying
+    @Query("DELETE FROM SalesDailyRollup r")
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO sales_daily_rollup (sales_date, department, order_count, revenue)
+        SELECT CAST(so.order_date AS DATE), COALESCE(u.department, ''), COUNT(*), COALESCE(SUM(so.total_amount), 0)
+        FROM sales_orders so JOIN users u ON u.id = so.created_by
+        WHERE so.order_date IS NOT NULL AND so.status <> 'CANCELLED'
+        GROUP BY CAST(so.order_date AS DATE), COALESCE(u.department, '')
+    """, nativeQuery = true)
+    int insertFromSalesOrders();
+
+    // --- DASHBOARD READS (dept = null means all departments) ---
+
+    @Query("""
+        SELECT COALESCE(SUM(r.orderCount), 0), COALESCE(SUM(r.revenue), 0)
+        FROM SalesDailyRollup r
+        WHERE r.salesDate >= :from AND (:dept IS NULL OR r.department = :dept)
+    """)
+    List<Object[]> sumSince(@Param("from") LocalDate from, @Param("dept") String dept);
+
+    @Query("""
+        SELECT r.salesDate, SUM(r.orderCount), SUM(r.revenue)
+        FROM SalesDailyRollup r
+        WHERE r.salesDate >= :from AND (:dept IS NULL OR r.department = :dept)
+        GROUP BY r.salesDate HAVING SUM(r.orderCount) > 0 ORDER BY r.salesDate ASC
+    """)
+    List<Object[]> findDailyStats(@Param("from") LocalDate from, @Param("dept") String dept);
+
+    @Query("""
+        SELECT YEAR(r.salesDate), MONTH(r.salesDate), SUM(r.orderCount), SUM(r.revenue)
+        FROM SalesDailyRollup r
+        WHERE r.salesDate >= :from AND (:dept IS NULL OR r.department = :dept)
+        GROUP BY YEAR(r.salesDate), MONTH(r.salesDate) HAVING SUM(r.orderCount) > 0 ORDER BY 1 ASC, 2 ASC
+    """)
+    List<Object[]> findMonthlyStats(@Param("from") LocalDate from, @Param("dept") String dept);
+
+    @Query("""
+        SELECT r.department, SUM(r.revenue)
+        FROM SalesDailyRollup r
+        GROUP BY r.department HAVING SUM(r.orderCount) > 0
+    """)
+    List<Object[]> findRevenueByDepartment();
+}
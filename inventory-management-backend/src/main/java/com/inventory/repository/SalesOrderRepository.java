@@ -1,16 +1,23 @@
 package com.inventory.repository;
 
+import com.inventory.dto.response.SalesOrderSummary;
 import com.inventory.entity.SalesOrder;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
 
@@ -21,79 +28,116 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
     @EntityGraph(attributePaths = {"items", "items.product", "customer", "createdBy", "updatedBy"})
     Optional<SalesOrder> findById(Long id);
 
-    @EntityGraph(attributePaths = {"items", "items.product", "customer"})
-    List<SalesOrder> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    // List view: header columns and a line count, no entities (see SalesOrderSummary).
+    String SUMMARY = """
+        SELECT new com.inventory.dto.response.SalesOrderSummary(
+               o.id, o.orderNumber, COALESCE(c.name, 'Walk-in'), o.orderDate, o.status, o.totalAmount, SIZE(o.items))
+        FROM SalesOrder o LEFT JOIN o.customer c
+    """;
 
-    // --- RECENT ORDERS ---
-    @EntityGraph(attributePaths = {"items", "items.product", "customer"})
-    List<SalesOrder> findTop10ByOrderByOrderDateDesc();
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(o) FROM SalesOrder o")
+    Page<SalesOrderSummary> findSummaries(Pageable pageable);
+
+    // Keyset paging, newest first: the page after (at, id).
+    @Query(SUMMARY + """
+        WHERE o.orderDate < :at OR (o.orderDate = :at AND o.id < :id)
+        ORDER BY o.orderDate DESC, o.id DESC
+    """)
+    List<SalesOrderSummary> findSummariesBefore(@Param("at") LocalDateTime at, @Param("id") Long id, Pageable limit);
 
-    // New: Recent Orders by Department
     @EntityGraph(attributePaths = {"items", "items.product", "customer"})
-    @Query("SELECT o FROM SalesOrder o JOIN o.createdBy u WHERE u.department = :dept ORDER BY o.orderDate DESC")
-    List<SalesOrder> findTop10ByDepartmentOrderByOrderDateDesc(@Param("dept") String dept, Pageable pageable);
+    List<SalesOrder> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    // --- METRICS (COUNTS & REVENUE) ---
-    
-    // Global
-    @Query("SELECT COUNT(so) FROM SalesOrder so WHERE so.orderDate >= :start AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED")
-    Integer countNonCancelledSince(@Param("start") LocalDateTime start);
+    // Export rows: order number, customer, date, status, subtotal, tax, discount, total.
+    // Header columns only, so no items or users are loaded; must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+        SELECT o.orderNumber, c.name, o.orderDate, o.status,
+               o.subtotal, o.taxAmount, o.discountAmount, o.totalAmount
+        FROM SalesOrder o LEFT JOIN o.customer c
+        WHERE o.orderDate BETWEEN :start AND :end
+        ORDER BY o.orderDate, o.id
+    """)
+    Stream<Object[]> streamForExport(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    @Query("SELECT COALESCE(SUM(so.totalAmount), 0) FROM SalesOrder so WHERE so.orderDate >= :start AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED")
-    BigDecimal sumRevenueSince(@Param("start") LocalDateTime start);
+    // Line-level export rows: order number, date, status, department (of the creator), sku, category,
+    // quantity, unit price, discount %, line total. Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+        SELECT o.orderNumber, o.orderDate, o.status, u.department, p.sku, c.name,
+               i.quantity, i.unitPrice, i.discountPercent, i.lineTotal
+        FROM SalesOrderItem i JOIN i.salesOrder o JOIN o.createdBy u
+             JOIN i.product p LEFT JOIN p.category c
+        WHERE o.orderDate BETWEEN :start AND :end
+        ORDER BY o.orderDate, o.id, i.id
+    """)
+    Stream<Object[]> streamLinesForExport(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    // Department Specific
-    @Query("SELECT COUNT(so) FROM SalesOrder so JOIN so.createdBy u WHERE u.department = :dept AND so.orderDate >= :start AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED")
-    Integer countNonCancelledSinceByDept(@Param("start") LocalDateTime start, @Param("dept") String dept);
+    // --- SALES CUBE ---
+    // Line rows: order id, date, status, department (of the creator), sku, category, quantity, line total.
 
-    @Query("SELECT COALESCE(SUM(so.totalAmount), 0) FROM SalesOrder so JOIN so.createdBy u WHERE u.department = :dept AND so.orderDate >= :start AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED")
-    BigDecimal sumRevenueSinceByDept(@Param("start") LocalDateTime start, @Param("dept") String dept);
+    String CUBE_ROWS = """
+        SELECT o.id, o.orderDate, o.status, u.department, p.sku, c.name, i.quantity, i.lineTotal
+        FROM SalesOrderItem i JOIN i.salesOrder o JOIN o.createdBy u
+             JOIN i.product p LEFT JOIN p.category c
+        WHERE o.orderDate IS NOT NULL
+    """;
 
-    // --- CHARTS (DAILY/MONTHLY TRENDS) ---
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(CUBE_ROWS)
+    Stream<Object[]> streamCubeRows();
 
-    // Global
-    @Query("""
-        SELECT CAST(so.orderDate AS LocalDate) as date, COUNT(so), SUM(so.totalAmount) 
-        FROM SalesOrder so 
-        WHERE so.orderDate >= :startDate AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
-        GROUP BY CAST(so.orderDate AS LocalDate) ORDER BY date ASC
-    """)
-    List<Object[]> findSalesStatsByDateRange(@Param("startDate") LocalDateTime startDate);
+    // Grouped by order, so each order's lines are appended to the cube next to each other.
+    @Query(CUBE_ROWS + " AND o.id IN :orderIds ORDER BY o.id")
+    List<Object[]> findCubeRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 
-    @Query("""
-        SELECT YEAR(so.orderDate), MONTH(so.orderDate), COUNT(so), SUM(so.totalAmount) 
-        FROM SalesOrder so 
-        WHERE so.orderDate >= :startDate AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
-        GROUP BY YEAR(so.orderDate), MONTH(so.orderDate) ORDER BY 1 ASC, 2 ASC
-    """)
-    List<Object[]> findSalesStatsByMonth(@Param("startDate") LocalDateTime startDate);
+    // --- SALES REPORT (dept = null / productId = null means no filter) ---
+    // An order matches the department if any of its lines is in that category,
+    // and the product if any of its lines is that product.
 
-    // Department Specific
     @Query("""
-        SELECT CAST(so.orderDate AS LocalDate) as date, COUNT(so), SUM(so.totalAmount) 
-        FROM SalesOrder so JOIN so.createdBy u
-        WHERE u.department = :dept AND so.orderDate >= :startDate AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
-        GROUP BY CAST(so.orderDate AS LocalDate) ORDER BY date ASC
+        SELECT CAST(o.orderDate AS LocalDate), COUNT(o), COALESCE(SUM(o.totalAmount), 0)
+        FROM SalesOrder o
+        WHERE o.orderDate BETWEEN :start AND :end
+          AND o.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
+          AND (:dept IS NULL OR EXISTS (
+                SELECT 1 FROM SalesOrderItem di JOIN di.product dp JOIN dp.category dc
+                WHERE di.salesOrder = o AND dc.name = :dept))
+          AND (:productId IS NULL OR EXISTS (
+                SELECT 1 FROM SalesOrderItem pi
+                WHERE pi.salesOrder = o AND pi.product.id = :productId))
+        GROUP BY CAST(o.orderDate AS LocalDate)
+        ORDER BY 1 ASC
     """)
-    List<Object[]> findSalesStatsByDateRangeByDept(@Param("startDate") LocalDateTime startDate, @Param("dept") String dept);
+    List<Object[]> findDailySalesSummary(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                         @Param("dept") String dept, @Param("productId") Long productId);
 
     @Query("""
-        SELECT YEAR(so.orderDate), MONTH(so.orderDate), COUNT(so), SUM(so.totalAmount) 
-        FROM SalesOrder so JOIN so.createdBy u
-        WHERE u.department = :dept AND so.orderDate >= :startDate AND so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
-        GROUP BY YEAR(so.orderDate), MONTH(so.orderDate) ORDER BY 1 ASC, 2 ASC
+        SELECT COALESCE(SUM(i.quantity), 0)
+        FROM SalesOrderItem i JOIN i.salesOrder o
+        WHERE o.orderDate BETWEEN :start AND :end
+          AND o.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
+          AND (:dept IS NULL OR EXISTS (
+                SELECT 1 FROM SalesOrderItem di JOIN di.product dp JOIN dp.category dc
+                WHERE di.salesOrder = o AND dc.name = :dept))
+          AND (:productId IS NULL OR EXISTS (
+                SELECT 1 FROM SalesOrderItem pi
+                WHERE pi.salesOrder = o AND pi.product.id = :productId))
     """)
-    List<Object[]> findSalesStatsByMonthByDept(@Param("startDate") LocalDateTime startDate, @Param("dept") String dept);
+    long sumItemsSold(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                      @Param("dept") String dept, @Param("productId") Long productId);
 
-    // --- PIE CHARTS (DEPARTMENT SHARE) ---
-    // Note: If viewing specific department, this might look boring (100%), but useful for Admin.
-    @Query("""
-        SELECT COALESCE(u.department, 'Unassigned'), SUM(so.totalAmount) 
-        FROM SalesOrder so JOIN so.createdBy u 
-        WHERE so.status <> com.inventory.entity.SalesOrder$OrderStatus.CANCELLED
-        GROUP BY u.department
-    """)
-    List<Object[]> findSalesByDepartment();
+    // --- RECENT ORDERS ---
+    // No collection in the graph: fetch-joining items makes Hibernate apply the limit in memory,
+    // after loading every order. The (eager) items follow in one batched select for the ten.
+    @EntityGraph(attributePaths = {"customer"})
+    List<SalesOrder> findTop10ByOrderByOrderDateDesc();
+
+    // New: Recent Orders by Department
+    @EntityGraph(attributePaths = {"customer"})
+    @Query("SELECT o FROM SalesOrder o JOIN o.createdBy u WHERE u.department = :dept ORDER BY o.orderDate DESC")
+    List<SalesOrder> findTop10ByDepartmentOrderByOrderDateDesc(@Param("dept") String dept, Pageable pageable);
 
     // --- PRODUCT PERFORMANCE (TOP & LEAST SELLING) ---
 
@@ -1,12 +1,44 @@
 package com.inventory.repository;
 
 import com.inventory.entity.StockAdjustment;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 public interface StockAdjustmentRepository extends org.springframework.data.jpa.repository.JpaRepository<StockAdjustment, Long> {
 
     @Query("SELECT sa FROM StockAdjustment sa WHERE sa.product.id = :productId ORDER BY sa.createdAt DESC")
     Page<StockAdjustment> findByProductId(@Param("productId") Long productId, Pageable pageable);
-}
\ No newline at end of file
+
+    // Keyset paging, newest first: the page after (at, id).
+    @Query("""
+        SELECT sa FROM StockAdjustment sa
+        WHERE sa.product.id = :productId AND (sa.createdAt < :at OR (sa.createdAt = :at AND sa.id < :id))
+        ORDER BY sa.createdAt DESC, sa.id DESC
+    """)
+    List<StockAdjustment> findByProductIdBefore(@Param("productId") Long productId, @Param("at") LocalDateTime at,
+                                                @Param("id") Long id, Pageable limit);
+
+    long countByProductId(Long productId);
+
+    // Export rows: date, sku, product, type, change, before, after, reason, reference, adjusted by.
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+        SELECT sa.createdAt, p.sku, p.name, sa.adjustmentType, sa.quantityChange,
+               sa.quantityBefore, sa.quantityAfter, sa.reason, sa.referenceNumber, u.email
+        FROM StockAdjustment sa JOIN sa.product p JOIN sa.adjustedBy u
+        WHERE sa.createdAt BETWEEN :start AND :end
+        ORDER BY sa.createdAt, sa.id
+    """)
+    Stream<Object[]> streamForExport(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
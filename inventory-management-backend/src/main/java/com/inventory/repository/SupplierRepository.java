@@ -1,11 +1,18 @@
 package com.inventory.repository;
 
 import com.inventory.entity.Supplier;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface SupplierRepository extends org.springframework.data.jpa.repository.JpaRepository<Supplier, Long> {
 
@@ -18,4 +25,28 @@ public interface SupplierRepository extends org.springframework.data.jpa.reposit
            LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')))
     """)
     Page<Supplier> searchSuppliers(@Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+
+    // Autocomplete rows: id, name, email, purchase orders that were not cancelled.
+    String AUTOCOMPLETE_ROWS = """
+        SELECT s.id, s.name, s.email,
+               (SELECT COUNT(o) FROM PurchaseOrder o
+                WHERE o.supplier = s AND o.status <> com.inventory.entity.PurchaseOrder$PurchaseOrderStatus.CANCELLED)
+        FROM Supplier s
+        WHERE s.isActive = true
+    """;
+
+    // Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(AUTOCOMPLETE_ROWS)
+    Stream<Object[]> streamAutocompleteRows();
+
+    @Query(AUTOCOMPLETE_ROWS + " AND s.id IN :ids")
+    List<Object[]> findAutocompleteRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Prefix match on the name, any word of the name, or the email; used until the autocomplete index is loaded.
+    @Query(AUTOCOMPLETE_ROWS + """
+          AND (LOWER(s.name) LIKE CONCAT(:prefix, '%') OR LOWER(s.name) LIKE CONCAT('% ', :prefix, '%')
+               OR LOWER(s.email) LIKE CONCAT(:prefix, '%'))
+    """)
+    List<Object[]> findAutocompleteRows(@Param("prefix") String prefix, Pageable pageable);
+}
@@ -1,8 +1,11 @@
 package com.inventory.security;
 
+import com.inventory.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,13 +16,16 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwt;
     private final UserDetailsService userDetailsService;
+    private final SecurityUtils securityUtils;
 
     @Override
     protected void doFilterInternal(
@@ -35,34 +41,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String token = header.substring(7);
-            if (!jwt.validate(token)) {
-                System.err.println("TEST DEBUG: JWT Validation Failed");
+            // Signature and expiry are verified here, once per request
+            Optional<Claims> parsed = jwt.parse(header.substring(7));
+            if (parsed.isEmpty()) {
+                log.debug("Rejected invalid or expired JWT");
                 chain.doFilter(request, response);
                 return;
             }
 
-            String email = jwt.extractUsername(token);
+            Claims claims = parsed.get();
+            String email = claims.getSubject();
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    UserDetails user = userDetailsService.loadUserByUsername(email);
-                    if (jwt.isTokenValid(token, user)) {
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    } else {
-                        System.err.println("TEST DEBUG: Token invalid for user " + email);
-                    }
-                } catch (UsernameNotFoundException e) {
-                    System.err.println("TEST DEBUG: User not found: " + email);
+                UserDetails user = principalFrom(claims, email);
+                if (user != null) {
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             }
         } catch (Exception e) {
-            System.err.println("TEST DEBUG: Filter Exception: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("JWT authentication failed: {}", e.getMessage());
         }
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tokens issued with id/role claims are checked against the cached user
+     * (see {@link SecurityUtils#findUsableUser}), so this is usually a map hit.
+     * Deactivated or locked users, and tokens whose id or role no longer
+     * match the account, are not authenticated. Older tokens without the
+     * claims fall back to a full user lookup.
+     */
+    private UserDetails principalFrom(Claims claims, String email) {
+        Number uid = claims.get(JwtTokenProvider.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        if (uid != null && role != null) {
+            Optional<User> current = securityUtils.findUsableUser(email);
+            if (current.isEmpty()) {
+                log.debug("JWT subject {} is unknown, deactivated or locked", email);
+                return null;
+            }
+            User u = current.get();
+            String currentRole = u.getRole() != null ? u.getRole().getName() : null;
+            if (!u.getId().equals(uid.longValue()) || !role.equals(currentRole)) {
+                log.debug("JWT claims for {} no longer match the account", email);
+                return null;
+            }
+            return new AuthenticatedUser(uid.longValue(), email, role);
+        }
+
+        try {
+            return userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            log.debug("User not found for JWT subject {}", email);
+            return null;
+        }
+    }
+}
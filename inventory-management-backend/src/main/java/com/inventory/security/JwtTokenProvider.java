@@ -1,8 +1,11 @@
 package com.inventory.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import com.inventory.entity.User;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,11 +14,16 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -26,6 +34,7 @@ public class JwtTokenProvider {
     private long refreshExpirationMs;
 
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     void init() {
@@ -36,55 +45,57 @@ public class JwtTokenProvider {
             throw new IllegalStateException("JWT secret must be at least 32 bytes (256 bits) for HS256.");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
-    public String generateAccessToken(UserDetails user) {
-        return buildToken(user.getUsername(), expirationMs);
+    /**
+     * Access tokens carry the user id and role so the authentication filter
+     * can build the principal without a database round trip.
+     */
+    public String generateAccessToken(User user) {
+        String role = user.getRole() != null ? user.getRole().getName() : "USER";
+        return buildToken(user.getEmail(), Map.of(CLAIM_USER_ID, user.getId(), CLAIM_ROLE, role), expirationMs);
     }
 
     public String generateRefreshToken(UserDetails user) {
-        return buildToken(user.getUsername(), refreshExpirationMs);
+        return buildToken(user.getUsername(), Map.of(), refreshExpirationMs);
     }
 
-    private String buildToken(String subject, long ttlMs) {
+    private String buildToken(String subject, Map<String, ?> claims, long ttlMs) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + ttlMs);
 
         return Jwts.builder()
                 .id(UUID.randomUUID().toString()) // Adds unique JTI claim to prevent collisions
                 .subject(subject)
+                .claims(claims)
                 .issuedAt(now)
                 .expiration(exp)
                 .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return parseClaims(token).getSubject();
-    }
-
-    public boolean validate(String token) {
+    /**
+     * Verifies signature and expiry once and returns the claims, or empty if the
+     * token is malformed, tampered with or expired.
+     */
+    public Optional<Claims> parse(String token) {
         try {
-            parseClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    public boolean isTokenValid(String token, UserDetails user) {
-        return extractUsername(token).equals(user.getUsername()) && !isExpired(token);
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
     }
 
-    private boolean isExpired(String token) {
-        return parseClaims(token).getExpiration().before(new Date());
+    public boolean validate(String token) {
+        return parse(token).isPresent();
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
\ No newline at end of file
@@ -1,19 +1,66 @@
 package com.inventory.security;
 
+import com.inventory.entity.Role;
 import com.inventory.entity.User;
 import com.inventory.exception.UnauthorizedException;
 import com.inventory.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.*;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the authenticated {@link User}.
+ * <p>
+ * Lookups are memoised for the current request and kept in a small LRU cache
+ * keyed by email. Callers always get a detached copy, shared between threads,
+ * whether or not it came from the cache: read it or use it as an association,
+ * but reload it before modifying it. Its {@code manager} is an id-only
+ * reference. Anything that changes a user must call {@link #evict(String)}.
+ */
 @Component
-@RequiredArgsConstructor
 public class SecurityUtils {
 
+    private static final String REQUEST_ATTR = SecurityUtils.class.getName() + ".currentUser";
+
     private final UserRepository users;
+    private final Map<String, CachedUser> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SecurityUtils(UserRepository users,
+                         MeterRegistry registry,
+                         @Value("${app.security.user-cache-size:1000}") int maxSize,
+                         @Value("${app.security.user-cache-ttl-seconds:300}") long ttlSeconds) {
+        this.users = users;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("security.user.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("security.user.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("security.user.cache.size", this, s -> s.size()).register(registry);
+    }
 
     public User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -29,6 +76,139 @@ public class SecurityUtils {
             throw new UnauthorizedException("Unknown principal");
         }
 
-        return users.findByEmail(email).orElseThrow(() -> new UnauthorizedException("User not found"));
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof User memo
+                && memo.getEmail().equals(email)) {
+            return memo;
+        }
+
+        User user = lookup(email);
+        if (Boolean.FALSE.equals(user.getIsActive())) {
+            throw new UnauthorizedException("User is deactivated");
+        }
+
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTR, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
     }
-}
\ No newline at end of file
+
+    /**
+     * The user behind an access token, from the cache: empty when the account
+     * no longer exists, is deactivated or is locked. Request filters call this
+     * on every authenticated request, so status changes apply immediately once
+     * the user is {@linkplain #evict(String) evicted}.
+     */
+    public Optional<User> findUsableUser(String email) {
+        User user;
+        try {
+            user = lookup(email);
+        } catch (UnauthorizedException e) {
+            return Optional.empty();
+        }
+        if (Boolean.FALSE.equals(user.getIsActive()) || user.isAccountLocked()) return Optional.empty();
+        return Optional.of(user);
+    }
+
+    /**
+     * Drops the cached user now and, if a transaction is running, again after
+     * it commits so a concurrent request cannot re-cache the old row.
+     */
+    public void evict(String email) {
+        if (email == null) return;
+        evictNow(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(email);
+                }
+            });
+        }
+    }
+
+    private User lookup(String email) {
+        long now = System.nanoTime();
+        synchronized (cache) {
+            CachedUser cached = cache.get(email);
+            if (cached != null && now - cached.loadedAt < ttlNanos) {
+                hits.increment();
+                return cached.user;
+            }
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        User user = detachedCopy(users.findByEmail(email)
+                .orElseThrow(() -> new UnauthorizedException("User not found")));
+
+        synchronized (cache) {
+            // Skip caching if an eviction ran while we were loading
+            if (generation.get() == gen) {
+                cache.put(email, new CachedUser(user, now));
+            }
+        }
+        return user;
+    }
+
+    private void evictNow(String email) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.remove(email);
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTR, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * The loaded instance may be managed by the caller's persistence context,
+     * so callers get a copy that no session tracks. Associations are copied as
+     * plain objects: the role's columns, and the manager as an id-only reference
+     * (it is a lazy proxy that could not be initialised once the session closes).
+     */
+    private static User detachedCopy(User u) {
+        return User.builder()
+                .id(u.getId())
+                .email(u.getEmail())
+                .passwordHash(u.getPasswordHash())
+                .firstName(u.getFirstName())
+                .lastName(u.getLastName())
+                .phone(u.getPhone())
+                .department(u.getDepartment())
+                .teamSizeLimit(u.getTeamSizeLimit())
+                .role(u.getRole() == null ? null : Role.builder()
+                        .id(u.getRole().getId())
+                        .name(u.getRole().getName())
+                        .description(u.getRole().getDescription())
+                        .build())
+                .manager(reference(u.getManager()))
+                .isActive(u.getIsActive())
+                .emailVerified(u.getEmailVerified())
+                .lastLogin(u.getLastLogin())
+                .failedLoginAttempts(u.getFailedLoginAttempts())
+                .lockedUntil(u.getLockedUntil())
+                .createdAt(u.getCreatedAt())
+                .updatedAt(u.getUpdatedAt())
+                .build();
+    }
+
+    private static User reference(User manager) {
+        if (manager == null) return null;
+        Object id = manager instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getInternalIdentifier()
+                : manager.getId();
+        User ref = new User();
+        ref.setId((Long) id);
+        return ref;
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record CachedUser(User user, long loadedAt) {}
+}
@@ -75,7 +75,7 @@ public class AuthService {
             );
 
             UserDetails principal = (UserDetails) auth.getPrincipal();
-            String access = jwt.generateAccessToken(principal);
+            String access = jwt.generateAccessToken(user);
             String refresh = jwt.generateRefreshToken(principal);
 
             // 5. Manage tokens
@@ -127,7 +127,7 @@ public class AuthService {
                 .authorities("ROLE_" + role.getName())
                 .build();
 
-        String access = jwt.generateAccessToken(details);
+        String access = jwt.generateAccessToken(user);
         String refresh = jwt.generateRefreshToken(details);
 
         refreshTokens.revokeAllForUser(user.getId());
@@ -171,7 +171,7 @@ public class AuthService {
                 .authorities("ROLE_" + user.getRole().getName())
                 .build();
 
-        String newAccess = jwt.generateAccessToken(details);
+        String newAccess = jwt.generateAccessToken(user);
         String newRefresh = jwt.generateRefreshToken(details);
 
         refreshTokens.save(RefreshToken.builder()
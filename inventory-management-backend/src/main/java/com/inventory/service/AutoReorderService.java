@@ -2,6 +2,8 @@ package com.inventory.service;
 
 import com.inventory.dto.request.PurchaseOrderRequest;
 import com.inventory.entity.*;
+import com.inventory.event.ProductChangedEvent;
+import com.inventory.event.StockChangedEvent;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.PurchaseOrderRepository;
 import com.inventory.repository.UserRepository;
@@ -13,113 +15,212 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AutoReorderService {
 
+    private static final Set<PurchaseOrder.PurchaseOrderStatus> OPEN_STATUSES = EnumSet.of(
+            PurchaseOrder.PurchaseOrderStatus.ORDERED,
+            PurchaseOrder.PurchaseOrderStatus.PENDING,
+            PurchaseOrder.PurchaseOrderStatus.APPROVED);
+
     private final ProductRepository productRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final PurchaseOrderService purchaseOrderService;
     private final NotificationService notificationService;
     private final UserDetailsService userDetailsService;
+    private final PlatformTransactionManager txManager;
+
+    // Products whose stock or settings changed since the last drain; a set, so repeats collapse
+    private final Set<Long> touchedProducts = ConcurrentHashMap.newKeySet();
+    private final Object runLock = new Object();
+
+    // --- EVENT-DRIVEN QUEUE ---
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        touchedProducts.addAll(event.getProductIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        touchedProducts.add(event.getProductId());
+    }
+
+    /**
+     * Evaluates only the products touched since the last drain, so a product
+     * that drops below its reorder point is ordered within seconds. If the run
+     * fails, the ids go back on the queue for the next drain.
+     */
+    @Scheduled(fixedDelayString = "${app.reorder.queue-drain-ms:5000}")
+    public void drainTouchedProducts() {
+        if (touchedProducts.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>(touchedProducts);
+        touchedProducts.removeAll(ids);
+
+        boolean done = false;
+        try {
+            List<Product> candidates = productRepository.findAutoReorderCandidatesByIdIn(ids);
+            done = candidates.isEmpty()
+                    || runAsSystem("Reorder queue: " + candidates.size() + " candidate(s)", candidates);
+        } finally {
+            if (!done) touchedProducts.addAll(ids);
+        }
+    }
 
     // --- SCHEDULED TASK (Background Bot) ---
-    @Scheduled(fixedDelay = 3600000) 
+    // Reconciliation pass for anything the event queue missed (restarts, direct DB edits)
+    @Scheduled(fixedDelayString = "${app.reorder.full-scan-interval-ms:21600000}")
     public void checkAndReorder() {
+        List<Product> candidates = productRepository.findAutoReorderCandidates();
+        if (candidates.isEmpty()) {
+            log.debug("Auto-Reorder Bot: full scan found no candidates");
+            return;
+        }
+        runAsSystem("Scheduled scan started...", candidates);
+    }
+
+    // --- MANUAL TRIGGER (Called by Controller) ---
+    // Not transactional: each run places its orders in a transaction of its own (see placeReorders)
+    public void runManualCheck() {
+        log.info("🤖 Auto-Reorder Bot: Manual trigger by user");
+        // No need to setup/clear context here; we use the logged-in user's context
+        runBotLogic(productRepository.findAutoReorderCandidates());
+    }
+
+    /** Returns false if the run failed. */
+    private boolean runAsSystem(String reason, List<Product> candidates) {
         // 1. Login as System Admin
         setupSystemContext();
         try {
-            log.info("🤖 Auto-Reorder Bot: Scheduled scan started...");
-            runBotLogic();
+            log.info("🤖 Auto-Reorder Bot: {}", reason);
+            return runBotLogic(candidates);
         } catch (Exception e) {
             log.error("Auto-Reorder Bot crashed", e);
+            return false;
         } finally {
             // 2. Logout to clean up thread
             SecurityContextHolder.clearContext();
         }
     }
 
-    // --- MANUAL TRIGGER (Called by Controller) ---
-    @Transactional
-    public void runManualCheck() {
-        log.info("🤖 Auto-Reorder Bot: Manual trigger by user");
-        // No need to setup/clear context here; we use the logged-in user's context
-        runBotLogic();
-    }
-
     // --- SHARED LOGIC ---
-    @Transactional
-    protected void runBotLogic() {
-        List<Product> products = productRepository.findByIsActiveTrue().stream()
-                .filter(p -> Boolean.TRUE.equals(p.getAutoReorderEnabled()))
-                .toList();
-
-        int reorderedCount = 0;
-        for (Product product : products) {
-            if (product.isLowStock()) {
-                boolean ordered = handleLowStock(product);
-                if (ordered) reorderedCount++;
-            }
+    // Serialised so the queue, the full scan and manual triggers can't order the same product twice
+    private boolean runBotLogic(List<Product> candidates) {
+        synchronized (runLock) {
+            return placeReorders(candidates);
         }
-        log.info("Scan complete. Reordered {} items.", reorderedCount);
     }
 
-    private boolean handleLowStock(Product product) {
-        boolean hasPendingOrder = purchaseOrderRepository.findAll().stream()
-                .filter(po -> po.getStatus() == PurchaseOrder.PurchaseOrderStatus.ORDERED 
-                           || po.getStatus() == PurchaseOrder.PurchaseOrderStatus.PENDING
-                           || po.getStatus() == PurchaseOrder.PurchaseOrderStatus.APPROVED)
-                .flatMap(po -> po.getItems().stream())
-                .anyMatch(item -> item.getProduct().getId().equals(product.getId()));
+    /** Returns false if the orders could not be placed. */
+    private boolean placeReorders(List<Product> candidates) {
+        // One projection per run instead of loading every PO for every low-stock product
+        Set<Long> onOrder = new HashSet<>(purchaseOrderRepository.findProductIdsWithOrderStatusIn(OPEN_STATUSES));
 
-        if (hasPendingOrder) return false;
+        // Consolidate lines per supplier so each supplier gets one PO per run
+        Map<Long, List<PurchaseOrderRequest.Item>> linesBySupplier = new LinkedHashMap<>();
+        for (Product product : candidates) {
+            if (onOrder.contains(product.getId())) continue;
 
-        Optional<ProductSupplier> supplierLink = product.getProductSuppliers().stream().findFirst();
-        if (supplierLink.isEmpty()) {
-            log.warn("Cannot auto-order {}: No supplier linked.", product.getSku());
-            return false;
-        }
+            Optional<ProductSupplier> supplierLink = chooseSupplier(product);
+            if (supplierLink.isEmpty()) {
+                log.warn("Cannot auto-order {}: No supplier linked.", product.getSku());
+                continue;
+            }
+
+            BigDecimal cost = supplierLink.get().getSupplierPrice() != null 
+                    ? supplierLink.get().getSupplierPrice() 
+                    : product.getCostPrice();
 
-        Supplier supplier = supplierLink.get().getSupplier();
-        BigDecimal cost = supplierLink.get().getSupplierPrice() != null 
-                ? supplierLink.get().getSupplierPrice() 
-                : product.getCostPrice();
+            PurchaseOrderRequest.Item item = new PurchaseOrderRequest.Item();
+            item.setProductId(product.getId());
+            item.setQuantity(product.getReorderQuantity());
+            item.setUnitCost(cost);
 
-        PurchaseOrderRequest.Item item = new PurchaseOrderRequest.Item();
-        item.setProductId(product.getId());
-        item.setQuantity(product.getReorderQuantity());
-        item.setUnitCost(cost);
+            linesBySupplier.computeIfAbsent(supplierLink.get().getSupplier().getId(), id -> new ArrayList<>()).add(item);
+        }
 
-        PurchaseOrderRequest request = new PurchaseOrderRequest();
-        request.setSupplierId(supplier.getId());
-        request.setItems(List.of(item));
-        request.setNotes("🤖 Auto-generated by Inventory Bot");
-        request.setExpectedDate(LocalDate.now().plusDays(7));
+        if (linesBySupplier.isEmpty()) {
+            log.info("Scan complete. Reordered 0 items.");
+            return true;
+        }
 
+        List<PurchaseOrder> placed;
         try {
-            PurchaseOrder po = purchaseOrderService.create(request);
-            purchaseOrderService.updateStatus(po.getId(), PurchaseOrder.PurchaseOrderStatus.ORDERED);
-            
-            notificationService.notifyAdmins(
-                Notification.NotificationType.INFO,
-                "Auto-Order Placed",
-                "Bot placed Order #" + po.getOrderNumber() + " for " + product.getName(),
-                "PURCHASE_ORDER",
-                po.getId()
-            );
-            return true;
+            TransactionTemplate tx = new TransactionTemplate(txManager);
+            // A failed run must roll back alone, never mark a caller's transaction rollback-only
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            placed = tx.execute(status -> placeOrders(linesBySupplier));
         } catch (Exception e) {
-            log.error("Failed to place auto-order for " + product.getSku(), e);
+            log.error("Failed to place auto-orders for {} suppliers", linesBySupplier.size(), e);
             return false;
         }
+
+        int reorderedCount = placed.stream().mapToInt(po -> po.getItems().size()).sum();
+        notifyPlaced(placed, reorderedCount);
+        log.info("Scan complete. Reordered {} items in {} purchase orders.", reorderedCount, placed.size());
+        return true;
+    }
+
+    /**
+     * Preferred supplier first, then the cheapest quoted price; unpriced links last.
+     */
+    private Optional<ProductSupplier> chooseSupplier(Product product) {
+        return product.getProductSuppliers().stream()
+                .filter(ps -> ps.getSupplier() != null)
+                .min(Comparator
+                        .comparing((ProductSupplier ps) -> !Boolean.TRUE.equals(ps.getIsPreferred()))
+                        .thenComparing(ProductSupplier::getSupplierPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ps -> ps.getSupplier().getId()));
+    }
+
+    private List<PurchaseOrder> placeOrders(Map<Long, List<PurchaseOrderRequest.Item>> linesBySupplier) {
+        List<PurchaseOrder> placed = new ArrayList<>(linesBySupplier.size());
+        linesBySupplier.forEach((supplierId, items) -> {
+            PurchaseOrderRequest request = new PurchaseOrderRequest();
+            request.setSupplierId(supplierId);
+            request.setItems(items);
+            request.setNotes("🤖 Auto-generated by Inventory Bot");
+            request.setExpectedDate(LocalDate.now().plusDays(7));
+
+            placed.add(purchaseOrderService.create(request, PurchaseOrder.PurchaseOrderStatus.ORDERED));
+        });
+        return placed;
+    }
+
+    private void notifyPlaced(List<PurchaseOrder> placed, int lineCount) {
+        String orders = placed.stream()
+                .map(po -> "#" + po.getOrderNumber() + " (" + po.getSupplier().getName() + ", "
+                        + po.getItems().size() + " items)")
+                .collect(Collectors.joining(", "));
+
+        notificationService.notifyAdmins(
+            Notification.NotificationType.INFO,
+            "Auto-Order Placed",
+            "Bot placed " + placed.size() + " purchase order(s) for " + lineCount + " products: " + orders,
+            "PURCHASE_ORDER",
+            placed.size() == 1 ? placed.get(0).getId() : null
+        );
     }
 
     private void setupSystemContext() {
@@ -0,0 +1,217 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.AutocompleteResponse;
+import com.inventory.event.CustomerChangedEvent;
+import com.inventory.event.ProductChangedEvent;
+import com.inventory.event.SupplierChangedEvent;
+import com.inventory.repository.CustomerRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead suggestions for products (name, SKU), customers and suppliers
+ * (name, email), one {@link PrefixIndex} per type.
+ * <p>
+ * Products rank by units sold, customers by sales orders and suppliers by
+ * purchase orders. Loaded after startup and rebuilt hourly to pick up new
+ * popularity figures; creates, updates and deletes queue the entity on
+ * commit, and a scheduled batch re-reads the queued rows. Until the first
+ * load finishes, suggestions come from prefix LIKE queries.
+ */
+@Service
+@Slf4j
+public class AutocompleteService {
+
+    public enum Type { PRODUCTS, CUSTOMERS, SUPPLIERS }
+
+    // rows ranked in memory while the index is loading
+    private static final int FALLBACK_ROWS = 200;
+    private static final int RELOAD_BATCH = 500;
+
+    private final ProductRepository products;
+    private final CustomerRepository customers;
+    private final SupplierRepository suppliers;
+    private final Executor taskExecutor;
+    private final TransactionTemplate tx;
+
+    private final Map<Type, PrefixIndex> indexes = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();   // one rebuild or change batch at a time
+    private final Map<Type, Set<Long>> changed = new EnumMap<>(Type.class);
+    private volatile boolean ready;
+
+    public AutocompleteService(ProductRepository products,
+                               CustomerRepository customers,
+                               SupplierRepository suppliers,
+                               @Qualifier("taskExecutor") Executor taskExecutor,
+                               PlatformTransactionManager txManager) {
+        this.products = products;
+        this.customers = customers;
+        this.suppliers = suppliers;
+        this.taskExecutor = taskExecutor;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
+        for (Type type : Type.values()) {
+            indexes.put(type, new PrefixIndex());
+            changed.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Up to {@code limit} suggestions (capped at {@value PrefixIndex#CACHED}) whose
+     * name, a word of the name, or SKU / email starts with {@code q}, most popular
+     * first. {@code categoryId} narrows products; it is ignored for other types.
+     */
+    public List<AutocompleteResponse> complete(Type type, String q, Long categoryId, int limit) {
+        String prefix = PrefixIndex.normalize(q);
+        int k = Math.max(1, Math.min(limit, PrefixIndex.CACHED));
+        if (prefix.isEmpty()) return List.of();
+        Long category = type == Type.PRODUCTS ? categoryId : null;
+
+        PrefixIndex index = indexes.get(type);
+        if (!ready) {
+            index = new PrefixIndex();
+            List<Object[]> rows = tx.execute(status -> fallbackRows(type, prefix, category));
+            for (Object[] r : Optional.ofNullable(rows).orElse(List.of())) put(index, type, r);
+        }
+        return index.complete(prefix, category, k).stream()
+                .map(e -> AutocompleteResponse.builder().id(e.id()).label(e.label()).detail(e.detail()).build())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(cron = "0 20 * * * *") // hourly, refreshes the popularity scores
+    public void rebuild() {
+        synchronized (loadLock) {
+            long started = System.currentTimeMillis();
+            Map<Type, PrefixIndex> fresh = new EnumMap<>(Type.class);
+            tx.executeWithoutResult(status -> {
+                for (Type type : Type.values()) {
+                    PrefixIndex index = new PrefixIndex();
+                    try (Stream<Object[]> rows = streamRows(type)) {
+                        rows.forEach(r -> put(index, type, r));
+                    }
+                    fresh.put(type, index);
+                }
+            });
+            indexes.putAll(fresh);
+            ready = true;
+            log.info("Autocomplete loaded: {} products, {} customers, {} suppliers in {} ms",
+                    fresh.get(Type.PRODUCTS).size(), fresh.get(Type.CUSTOMERS).size(),
+                    fresh.get(Type.SUPPLIERS).size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    // These run on the committing thread, so they only queue the id.
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changed.get(Type.PRODUCTS).add(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        changed.get(Type.CUSTOMERS).add(event.getCustomerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        changed.get(Type.SUPPLIERS).add(event.getSupplierId());
+    }
+
+    /**
+     * Re-reads the entities changed since the last run, in batches per type,
+     * and puts or removes them. Serialized with {@link #rebuild()}, so a change
+     * that commits while a rebuild is reading is applied to the new indexes
+     * afterwards. If a read fails, the ids go back on the queue.
+     */
+    @Scheduled(fixedDelayString = "${app.autocomplete.refresh-ms:500}")
+    public void applyChanges() {
+        if (changed.values().stream().allMatch(Set::isEmpty)) return;
+        synchronized (loadLock) {
+            Map<Type, List<Long>> ids = new EnumMap<>(Type.class);
+            changed.forEach((type, queued) -> {
+                List<Long> taken = new ArrayList<>(queued);
+                queued.removeAll(taken);
+                ids.put(type, taken);
+            });
+            Map<Type, Map<Long, Object[]>> rows = new EnumMap<>(Type.class);
+            try {
+                tx.executeWithoutResult(status -> ids.forEach((type, list) -> {
+                    Map<Long, Object[]> byId = new HashMap<>();
+                    for (int i = 0; i < list.size(); i += RELOAD_BATCH) {
+                        rowsByIds(type, list.subList(i, Math.min(list.size(), i + RELOAD_BATCH)))
+                                .forEach(r -> byId.put((Long) r[0], r));
+                    }
+                    rows.put(type, byId);
+                }));
+            } catch (RuntimeException e) {
+                ids.forEach((type, list) -> changed.get(type).addAll(list));
+                throw e;
+            }
+
+            ids.forEach((type, list) -> {
+                PrefixIndex index = indexes.get(type);
+                for (Long id : list) {
+                    Object[] r = rows.get(type).get(id);
+                    if (r == null) index.remove(id);   // deleted or deactivated
+                    else put(index, type, r);
+                }
+            });
+        }
+    }
+
+    private List<Object[]> rowsByIds(Type type, Collection<Long> ids) {
+        return switch (type) {
+            case PRODUCTS -> products.findAutocompleteRowsByIds(ids);
+            case CUSTOMERS -> customers.findAutocompleteRowsByIds(ids);
+            case SUPPLIERS -> suppliers.findAutocompleteRowsByIds(ids);
+        };
+    }
+
+    private Stream<Object[]> streamRows(Type type) {
+        return switch (type) {
+            case PRODUCTS -> products.streamAutocompleteRows();
+            case CUSTOMERS -> customers.streamAutocompleteRows();
+            case SUPPLIERS -> suppliers.streamAutocompleteRows();
+        };
+    }
+
+    private List<Object[]> fallbackRows(Type type, String prefix, Long categoryId) {
+        PageRequest first = PageRequest.of(0, FALLBACK_ROWS);
+        return switch (type) {
+            case PRODUCTS -> products.findAutocompleteRows(prefix, categoryId, first);
+            case CUSTOMERS -> customers.findAutocompleteRows(prefix, first);
+            case SUPPLIERS -> suppliers.findAutocompleteRows(prefix, first);
+        };
+    }
+
+    /** Row layouts match the repositories' {@code AUTOCOMPLETE_ROWS}. */
+    private static void put(PrefixIndex index, Type type, Object[] r) {
+        if (type == Type.PRODUCTS) {
+            index.put((Long) r[0], (String) r[1], (String) r[2], (Long) r[3], ((Number) r[4]).longValue());
+        } else {
+            index.put((Long) r[0], (String) r[1], (String) r[2], null, ((Number) r[3]).longValue());
+        }
+    }
+}
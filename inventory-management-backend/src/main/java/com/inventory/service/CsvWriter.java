@@ -0,0 +1,225 @@
+package com.inventory.service;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Minimal RFC 4180 row writer for exports. Fields are written into a reusable
+ * char buffer: numbers, decimals and timestamps are rendered digit by digit
+ * without intermediate strings, and text is escaped in the same pass that
+ * copies it. Not thread-safe; one instance per export.
+ */
+public final class CsvWriter implements Flushable {
+
+    private static final int DEFAULT_BUFFER = 16 * 1024;
+    private static final int MAX_LONG_DIGITS = 20;
+    private static final long[] POW10 = new long[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private final Writer out;
+    private final char[] buf;
+    private int pos;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER);
+    }
+
+    public CsvWriter(Writer out, int bufferSize) {
+        this.out = out;
+        this.buf = new char[Math.max(bufferSize, 64)];
+    }
+
+    /** Writes a complete row of column names. */
+    public CsvWriter header(String... names) throws IOException {
+        for (String n : names) field(n);
+        return endRow();
+    }
+
+    /** Text field; quoted only when it contains a comma, quote or line break. Null is written as empty. */
+    public CsvWriter field(CharSequence value) throws IOException {
+        separator();
+        if (value == null) return this;
+
+        int len = value.length();
+        // worst case every char is a doubled quote, plus the surrounding quotes
+        if (2 * len + 2 > buf.length - pos) {
+            drain();
+            if (2 * len + 2 > buf.length) {
+                writeLarge(value);
+                return this;
+            }
+        }
+
+        int start = pos;
+        boolean quoted = false;
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == ',' || c == '\n' || c == '\r') {
+                if (!quoted) {
+                    System.arraycopy(buf, start, buf, start + 1, pos - start);
+                    buf[start] = '"';
+                    pos++;
+                    quoted = true;
+                }
+                if (c == '"') buf[pos++] = '"';
+            }
+            buf[pos++] = c;
+        }
+        if (quoted) buf[pos++] = '"';
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separator();
+        ensure(MAX_LONG_DIGITS);
+        writeLong(value);
+        return this;
+    }
+
+    /** Plain (non-scientific) notation. Null is written as empty. */
+    public CsvWriter field(BigDecimal value) throws IOException {
+        separator();
+        if (value == null) return this;
+
+        int scale = value.scale();
+        BigInteger unscaled = value.unscaledValue();
+        if (scale < 0 || scale > 18 || unscaled.bitLength() > 62) {
+            return raw(value.toPlainString());
+        }
+
+        long v = unscaled.longValue();
+        ensure(MAX_LONG_DIGITS + 3);
+        if (scale == 0) {
+            writeLong(v);
+            return this;
+        }
+
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+        long pow = POW10[scale];
+        writeLong(v / pow);
+        buf[pos++] = '.';
+        writePadded(v % pow, scale);
+        return this;
+    }
+
+    /** {@code yyyy-MM-dd HH:mm:ss}. Null is written as empty. */
+    public CsvWriter field(LocalDateTime value) throws IOException {
+        separator();
+        if (value == null) return this;
+
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return raw(value.toString());
+        }
+        ensure(19);
+        writePadded(year, 4);
+        buf[pos++] = '-';
+        writePadded(value.getMonthValue(), 2);
+        buf[pos++] = '-';
+        writePadded(value.getDayOfMonth(), 2);
+        buf[pos++] = ' ';
+        writePadded(value.getHour(), 2);
+        buf[pos++] = ':';
+        writePadded(value.getMinute(), 2);
+        buf[pos++] = ':';
+        writePadded(value.getSecond(), 2);
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        ensure(1);
+        buf[pos++] = '\n';
+        rowStarted = false;
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    // ---------------------------------------------------------------------
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            ensure(1);
+            buf[pos++] = ',';
+        }
+        rowStarted = true;
+    }
+
+    private CsvWriter raw(String s) throws IOException {
+        if (s.length() > buf.length - pos) drain();
+        if (s.length() > buf.length) {
+            out.write(s);
+        } else {
+            s.getChars(0, s.length(), buf, pos);
+            pos += s.length();
+        }
+        return this;
+    }
+
+    /** Fallback for fields bigger than the buffer: scan once to decide on quoting, then stream. */
+    private void writeLarge(CharSequence value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == '"' || c == ',' || c == '\n' || c == '\r';
+        }
+        if (quote) out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        if (quote) out.write('"');
+    }
+
+    private void writeLong(long v) {
+        if (v == Long.MIN_VALUE) {
+            String s = Long.toString(v);
+            s.getChars(0, s.length(), buf, pos);
+            pos += s.length();
+            return;
+        }
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        while (digits < 19 && v >= POW10[digits]) digits++;
+        writePadded(v, digits);
+    }
+
+    private void writePadded(long v, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + (v % 10));
+            v /= 10;
+        }
+        pos += width;
+    }
+
+    private void ensure(int n) throws IOException {
+        if (buf.length - pos < n) drain();
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
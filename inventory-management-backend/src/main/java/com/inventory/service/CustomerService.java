@@ -2,9 +2,11 @@ package com.inventory.service;
 
 import com.inventory.dto.request.CustomerRequest;
 import com.inventory.entity.Customer;
+import com.inventory.event.CustomerChangedEvent;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +18,7 @@ import java.util.List;
 public class CustomerService {
 
     private final CustomerRepository customers;
+    private final ApplicationEventPublisher events;
 
     @Transactional(readOnly = true)
     public Page<Customer> getAll(Pageable pageable) {
@@ -51,7 +54,9 @@ public class CustomerService {
                 .postalCode(req.getPostalCode())
                 .isActive(true)
                 .build();
-        return customers.save(c);
+        c = customers.save(c);
+        events.publishEvent(new CustomerChangedEvent(c.getId()));
+        return c;
     }
 
     @Transactional
@@ -68,7 +73,9 @@ public class CustomerService {
         c.setCountry(req.getCountry());
         c.setPostalCode(req.getPostalCode());
 
-        return customers.save(c);
+        c = customers.save(c);
+        events.publishEvent(new CustomerChangedEvent(c.getId()));
+        return c;
     }
 
     @Transactional
@@ -77,5 +84,6 @@ public class CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found: " + id));
         c.setIsActive(false);
         customers.save(c);
+        events.publishEvent(new CustomerChangedEvent(c.getId()));
     }
 }
\ No newline at end of file
@@ -5,14 +5,19 @@ import com.inventory.dto.response.DashboardResponse.*;
 import com.inventory.entity.Product;
 import com.inventory.entity.SalesOrder; // <--- ENSURE THIS IS IMPORTED
 import com.inventory.entity.User;
+import com.inventory.entity.SalesDailyRollup;
 import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SalesDailyRollupRepository;
 import com.inventory.repository.SalesOrderRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -20,58 +25,161 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List; // <--- ENSURE THIS IS IMPORTED
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DashboardService {
 
     private final ProductRepository products;
     private final SalesOrderRepository salesOrders;
+    private final SalesDailyRollupRepository salesRollup;
     private final SecurityUtils securityUtils;
-
-    @Transactional(readOnly = true)
+    private final DashboardSnapshotCache snapshotCache;
+    private final RequestCoalescer coalescer;
+    @Qualifier("dashboardSectionTx")
+    private final TransactionTemplate sectionTx;
+    @Qualifier("dashboardExecutor")
+    private final Executor dashboardExecutor;
+
+    @Value("${app.dashboard.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
+
+    /**
+     * Users in the same department see the same numbers, so the assembled
+     * response is served from {@link DashboardSnapshotCache} and only rebuilt
+     * after a relevant write or when the snapshot expires. Concurrent misses
+     * for the same key share a single rebuild.
+     */
     public DashboardResponse getDashboard(String range) {
         User user = securityUtils.getCurrentUser();
         
-        String dept = null;
-        if (!user.getRole().getName().equalsIgnoreCase("ADMIN")) {
-            dept = user.getDepartment();
-        }
+        final String dept = user.getRole().getName().equalsIgnoreCase("ADMIN") ? null : user.getDepartment();
+
+        String key = DashboardSnapshotCache.key(dept, range);
+        return snapshotCache.get(key,
+                () -> coalescer.execute("dashboard", key, () -> buildDashboard(range, dept)));
+    }
+
+    /**
+     * Sections are independent, so each one runs on the dashboard executor in its
+     * own read-only transaction. A section that fails or exceeds the timeout is
+     * replaced by an empty fallback instead of failing the whole page.
+     */
+    private DashboardResponse buildDashboard(String range, String dept) {
+        Queue<String> degraded = new ConcurrentLinkedQueue<>();
+        CompletableFuture<InventoryMetrics> inventoryMetrics =
+                section("inventoryMetrics", degraded, () -> buildInventoryMetrics(dept), emptyInventoryMetrics());
+        CompletableFuture<SalesMetrics> salesMetrics =
+                section("salesMetrics", degraded, () -> buildSalesMetrics(dept), emptySalesMetrics());
+        CompletableFuture<List<LowStockItem>> lowStockItems =
+                section("lowStockItems", degraded, () -> buildLowStockList(dept), List.of());
+        CompletableFuture<List<RecentOrder>> recentOrders =
+                section("recentOrders", degraded, () -> buildRecentOrders(dept), List.of());
+        CompletableFuture<List<ChartData>> salesChart =
+                section("salesChart", degraded, () -> buildChartData(range, dept), List.of());
+        CompletableFuture<List<PieChartData>> departmentSales =
+                section("departmentSales", degraded, () -> buildPieChartData(dept), List.of());
+        CompletableFuture<List<ProductPieChartData>> productSales =
+                section("productSales", degraded, () -> buildProductSalesData(dept), List.of());
+        CompletableFuture<List<ProductPieChartData>> underPerforming =
+                section("underPerformingProducts", degraded, () -> buildUnderPerformingData(dept), List.of());
+        CompletableFuture<List<ExpiringItem>> expiringSoon =
+                section("expiringSoon", degraded, () -> buildExpiringList(dept), List.of());
+        CompletableFuture<List<DeadStockItem>> deadStock =
+                section("deadStock", degraded, () -> buildDeadStockList(dept), List.of());
+
+        CompletableFuture.allOf(inventoryMetrics, salesMetrics, lowStockItems, recentOrders, salesChart,
+                departmentSales, productSales, underPerforming, expiringSoon, deadStock).join();
 
         return DashboardResponse.builder()
-                .inventoryMetrics(buildInventoryMetrics(dept))
-                .salesMetrics(buildSalesMetrics(dept))
-                .lowStockItems(buildLowStockList(dept))
-                .recentOrders(buildRecentOrders(dept))
-                .salesChart(buildChartData(range, dept))
-                .departmentSales(buildPieChartData(dept))
-                .productSales(buildProductSalesData(dept))
-                .underPerformingProducts(buildUnderPerformingData(dept))
-                .expiringSoon(buildExpiringList(dept))
-                .deadStock(buildDeadStockList(dept))
+                .inventoryMetrics(inventoryMetrics.join())
+                .salesMetrics(salesMetrics.join())
+                .lowStockItems(lowStockItems.join())
+                .recentOrders(recentOrders.join())
+                .salesChart(salesChart.join())
+                .departmentSales(departmentSales.join())
+                .productSales(productSales.join())
+                .underPerformingProducts(underPerforming.join())
+                .expiringSoon(expiringSoon.join())
+                .deadStock(deadStock.join())
+                .degradedSections(List.copyOf(degraded))
+                .build();
+    }
+
+    /**
+     * A section gets its full timeout from the moment a worker picks it up, and
+     * may wait at most as long again in the queue. A section still queued when
+     * the caller gives up is skipped rather than run for a result nobody reads.
+     */
+    private <T> CompletableFuture<T> section(String name, Queue<String> degraded, Supplier<T> builder, T fallback) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            dashboardExecutor.execute(() -> {
+                if (future.isDone()) return;
+                // the transaction timeout cancels the query itself; this bounds the wait
+                future.orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+                try {
+                    future.complete(sectionTx.execute(status -> builder.get()));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard section '{}' rejected (executor saturated), serving fallback", name);
+            degraded.add(name);
+            return CompletableFuture.completedFuture(fallback);
+        }
+        return future
+                .orTimeout(2 * sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    log.warn("Dashboard section '{}' unavailable, serving fallback: {}", name, ex.toString());
+                    degraded.add(name);
+                    return fallback;
+                });
+    }
+
+    private static InventoryMetrics emptyInventoryMetrics() {
+        return InventoryMetrics.builder()
+                .totalProducts(0)
+                .totalQuantity(0)
+                .totalInventoryValue(BigDecimal.ZERO)
+                .lowStockCount(0)
+                .outOfStockCount(0)
+                .build();
+    }
+
+    private static SalesMetrics emptySalesMetrics() {
+        return SalesMetrics.builder()
+                .totalOrdersToday(0)
+                .revenueToday(BigDecimal.ZERO)
+                .totalOrdersThisMonth(0)
+                .revenueThisMonth(BigDecimal.ZERO)
+                .averageOrderValueThisMonth(BigDecimal.ZERO)
                 .build();
     }
 
-    // 1. SALES METRICS
+    // 1. SALES METRICS (served from the daily rollup)
     private DashboardResponse.SalesMetrics buildSalesMetrics(String dept) {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        LocalDate today = LocalDate.now();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        String deptKey = (dept != null && !dept.isEmpty()) ? dept : null;
 
-        Integer todayOrders, monthOrders;
-        BigDecimal todayRevenue, monthRevenue;
+        Object[] todayRow = salesRollup.sumSince(today, deptKey).get(0);
+        Object[] monthRow = salesRollup.sumSince(startOfMonth, deptKey).get(0);
 
-        if (dept != null && !dept.isEmpty()) {
-            todayOrders = salesOrders.countNonCancelledSinceByDept(startOfDay, dept);
-            todayRevenue = salesOrders.sumRevenueSinceByDept(startOfDay, dept);
-            monthOrders = salesOrders.countNonCancelledSinceByDept(startOfMonth, dept);
-            monthRevenue = salesOrders.sumRevenueSinceByDept(startOfMonth, dept);
-        } else {
-            todayOrders = salesOrders.countNonCancelledSince(startOfDay);
-            todayRevenue = salesOrders.sumRevenueSince(startOfDay);
-            monthOrders = salesOrders.countNonCancelledSince(startOfMonth);
-            monthRevenue = salesOrders.sumRevenueSince(startOfMonth);
-        }
+        Integer todayOrders = ((Number) todayRow[0]).intValue();
+        BigDecimal todayRevenue = (BigDecimal) todayRow[1];
+        Integer monthOrders = ((Number) monthRow[0]).intValue();
+        BigDecimal monthRevenue = (BigDecimal) monthRow[1];
 
         BigDecimal avg = BigDecimal.ZERO;
         if (monthOrders != null && monthOrders > 0 && monthRevenue != null) {
@@ -87,27 +195,21 @@ public class DashboardService {
                 .build();
     }
 
-    // 2. CHART DATA
+    // 2. CHART DATA (served from the daily rollup, so whole days are counted)
     private List<DashboardResponse.ChartData> buildChartData(String range, String dept) {
-        LocalDateTime startDate = switch (range.toLowerCase()) {
-            case "week" -> LocalDateTime.now().minusWeeks(1);
-            case "month" -> LocalDateTime.now().minusMonths(1);
-            case "year" -> LocalDateTime.now().minusYears(1);
-            default -> LocalDateTime.now().minusDays(1);
+        LocalDate startDate = switch (range.toLowerCase()) {
+            case "week" -> LocalDate.now().minusWeeks(1);
+            case "month" -> LocalDate.now().minusMonths(1);
+            case "year" -> LocalDate.now().minusYears(1);
+            default -> LocalDate.now().minusDays(1);
         };
 
-        List<Object[]> results;
         boolean isYear = "year".equalsIgnoreCase(range);
+        String deptKey = (dept != null && !dept.isEmpty()) ? dept : null;
 
-        if (dept != null && !dept.isEmpty()) {
-            results = isYear 
-                ? salesOrders.findSalesStatsByMonthByDept(startDate, dept)
-                : salesOrders.findSalesStatsByDateRangeByDept(startDate, dept);
-        } else {
-            results = isYear
-                ? salesOrders.findSalesStatsByMonth(startDate)
-                : salesOrders.findSalesStatsByDateRange(startDate);
-        }
+        List<Object[]> results = isYear
+                ? salesRollup.findMonthlyStats(startDate, deptKey)
+                : salesRollup.findDailyStats(startDate, deptKey);
 
         return results.stream().map(row -> {
             String dateKey;
@@ -175,43 +277,19 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
 
-    // 5. INVENTORY METRICS
-    private DashboardResponse.InventoryMetrics buildInventoryMetrics(String dept) {
-        int totalProducts;
-        int totalQty;
-        int outOfStock;
-        BigDecimal totalValue;
-        Integer lowStockCount;
-
-        if (dept != null && !dept.isEmpty()) {
-            List<Product> deptProducts = products.findByIsActiveTrue().stream()
-                    .filter(p -> p.getCategory() != null && p.getCategory().getName().equalsIgnoreCase(dept))
-                    .collect(Collectors.toList());
-            
-            totalProducts = deptProducts.size();
-            totalQty = deptProducts.stream().mapToInt(p -> p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand()).sum();
-            outOfStock = (int) deptProducts.stream().filter(p -> (p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand()) == 0).count();
-            
-            totalValue = deptProducts.stream().map(Product::getTotalValue).reduce(BigDecimal.ZERO, BigDecimal::add);
-            lowStockCount = (int) deptProducts.stream().filter(Product::isLowStock).count();
-        } else {
-            List<Product> all = products.findByIsActiveTrue();
-            totalProducts = all.size();
-            totalQty = all.stream().mapToInt(p -> p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand()).sum();
-            outOfStock = (int) all.stream().filter(p -> (p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand()) == 0).count();
-            totalValue = products.calculateTotalInventoryValue();
-            lowStockCount = products.countLowStockProducts();
-        }
+    // 5. INVENTORY METRICS (single aggregate query, department filtered in SQL)
+    DashboardResponse.InventoryMetrics buildInventoryMetrics(String dept) {
+        String deptKey = (dept != null && !dept.isEmpty()) ? dept : null;
+        Object[] row = products.aggregateInventory(deptKey).get(0);
 
-        if (totalValue == null) totalValue = BigDecimal.ZERO;
-        if (lowStockCount == null) lowStockCount = 0;
+        BigDecimal totalValue = (BigDecimal) row[4];
 
         return DashboardResponse.InventoryMetrics.builder()
-                .totalProducts(totalProducts)
-                .totalQuantity(totalQty)
-                .totalInventoryValue(totalValue)
-                .lowStockCount(lowStockCount)
-                .outOfStockCount(outOfStock)
+                .totalProducts(((Number) row[0]).intValue())
+                .totalQuantity(((Number) row[1]).intValue())
+                .totalInventoryValue(totalValue == null ? BigDecimal.ZERO : totalValue)
+                .lowStockCount(((Number) row[3]).intValue())
+                .outOfStockCount(((Number) row[2]).intValue())
                 .build();
     }
 
@@ -276,7 +354,7 @@ public class DashboardService {
 
     // 7. DEPT PIE CHART
     private List<DashboardResponse.PieChartData> buildPieChartData(String dept) {
-        List<Object[]> results = salesOrders.findSalesByDepartment();
+        List<Object[]> results = salesRollup.findRevenueByDepartment();
         
         if (dept != null && !dept.isEmpty()) {
             results = results.stream()
@@ -285,7 +363,7 @@ public class DashboardService {
         }
 
         return results.stream().map(row -> DashboardResponse.PieChartData.builder()
-                .name(row[0] != null ? row[0].toString() : "Unassigned")
+                .name(row[0] != null && !SalesDailyRollup.NO_DEPARTMENT.equals(row[0]) ? row[0].toString() : "Unassigned")
                 .value((BigDecimal) row[1])
                 .build()
         ).collect(Collectors.toList());
@@ -0,0 +1,103 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.DashboardResponse;
+import com.inventory.event.ProductChangedEvent;
+import com.inventory.event.SalesOrderChangedEvent;
+import com.inventory.event.StockChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process dashboard snapshots keyed by (department or ALL, range).
+ * <p>
+ * Every committed stock, product or sales order change drops all snapshots;
+ * the TTL only bounds staleness for changes that bypass those events.
+ * Snapshots with fallback sections are kept only for the short degraded TTL,
+ * enough to absorb a burst of polls without serving zeros for a full TTL.
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final long degradedTtlNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuilds;
+
+    public DashboardSnapshotCache(MeterRegistry registry,
+                                  @Value("${app.dashboard.cache-ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${app.dashboard.degraded-ttl-seconds:5}") long degradedTtlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.degradedTtlNanos = TimeUnit.SECONDS.toNanos(Math.min(degradedTtlSeconds, ttlSeconds));
+        this.hits = Counter.builder("dashboard.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("dashboard.cache.requests").tag("result", "miss").register(registry);
+        this.rebuilds = Timer.builder("dashboard.cache.rebuild").register(registry);
+        Gauge.builder("dashboard.cache.hit.ratio", this, DashboardSnapshotCache::hitRatio).register(registry);
+        Gauge.builder("dashboard.cache.size", snapshots, Map::size).register(registry);
+    }
+
+    public static String key(String dept, String range) {
+        String scope = (dept == null || dept.isEmpty()) ? "ALL" : "dept:" + dept;
+        return scope + "|" + range.toLowerCase();
+    }
+
+    public DashboardResponse get(String key, Supplier<DashboardResponse> builder) {
+        Snapshot cached = snapshots.get(key);
+        if (cached != null && System.nanoTime() - cached.builtAt < cached.ttlNanos) {
+            hits.increment();
+            return cached.response;
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        DashboardResponse fresh = rebuilds.record(builder);
+
+        // Don't publish a snapshot that may predate an invalidation that happened while building.
+        long ttl = fresh.isDegraded() ? degradedTtlNanos : ttlNanos;
+        if (generation.get() == gen && ttl > 0) {
+            snapshots.put(key, new Snapshot(fresh, System.nanoTime(), ttl));
+        }
+        return fresh;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesOrderChanged(SalesOrderChangedEvent event) {
+        invalidateAll();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private record Snapshot(DashboardResponse response, long builtAt, long ttlNanos) {}
+}
@@ -0,0 +1,218 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.ExportJobResponse;
+import com.inventory.dto.response.ExportJobResponse.Status;
+import com.inventory.dto.response.ExportJobResponse.Type;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.security.SecurityUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs exports in the background so large date ranges don't hold a request
+ * thread. Each job streams its CSV through gzip into the spool directory
+ * (written to a temp file and moved into place when complete); finished
+ * files are kept for {@code app.export.retention-hours} and served as
+ * resources so clients can resume downloads with Range requests.
+ * <p>
+ * Job state is kept in memory, so files left over from a previous run can't
+ * be served. Leftovers are swept at startup and hourly, but only this
+ * service's own files ({@code <uuid>.csv.gz[.part]}) and only once they are
+ * past retention: the directory may be shared with other files or with
+ * another instance whose jobs are still live.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportJobService {
+
+    private static final String SUFFIX = ".csv.gz";
+    private static final Pattern OWN_FILE =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.csv\\.gz(\\.part)?");
+
+    private final ExportService exportService;
+    private final SecurityUtils securityUtils;
+
+    @Qualifier("exportExecutor")
+    private final Executor exportExecutor;
+
+    @Value("${app.export.spool-dir:${java.io.tmpdir}/inventory-exports}")
+    private String spoolDirSetting;
+
+    @Value("${app.export.retention-hours:24}")
+    private long retentionHours;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private Path spoolDir;
+
+    @PostConstruct
+    void initSpoolDir() throws IOException {
+        spoolDir = Files.createDirectories(Paths.get(spoolDirSetting));
+        sweepLeftovers();
+    }
+
+    public ExportJobResponse submit(Type type, LocalDateTime start, LocalDateTime end) {
+        if (type != Type.PRODUCTS) {
+            if (start == null || end == null) {
+                throw new BadRequestException("startDate and endDate are required for " + type + " exports");
+            }
+            if (end.isBefore(start)) {
+                throw new BadRequestException("endDate must not be before startDate");
+            }
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type, start, end,
+                securityUtils.getCurrentUser().getEmail());
+        jobs.put(job.id, job);
+        try {
+            exportExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw e; // 503, see GlobalExceptionHandler
+        }
+        return job.toResponse();
+    }
+
+    public ExportJobResponse status(String id) {
+        return find(id).toResponse();
+    }
+
+    /** The finished file, for download. */
+    public Path result(String id) {
+        Job job = find(id);
+        if (job.status != Status.COMPLETED) {
+            throw new BadRequestException("Export " + id + " is " + job.status);
+        }
+        return job.file;
+    }
+
+    public String fileName(String id) {
+        Job job = find(id);
+        return job.type.name().toLowerCase().replace('_', '-') + "-" + id + SUFFIX;
+    }
+
+    @Scheduled(cron = "0 45 * * * *") // hourly
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(cutoff)) return false;
+            delete(job.file);
+            return true;
+        });
+        sweepLeftovers();
+    }
+
+    /** Deletes expired files of ours that no job refers to; anything else in the directory is left alone. */
+    private void sweepLeftovers() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(spoolDir,
+                p -> OWN_FILE.matcher(p.getFileName().toString()).matches())) {
+            for (Path p : entries) {
+                if (!Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS)) continue;
+                if (Files.getLastModifiedTime(p).toInstant().isBefore(cutoff)) delete(p);
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep export spool directory {}", spoolDir, e);
+        }
+    }
+
+    private void run(Job job) {
+        job.status = Status.RUNNING;
+        Path tmp = spoolDir.resolve(job.id + SUFFIX + ".part");
+        Path target = spoolDir.resolve(job.id + SUFFIX);
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                switch (job.type) {
+                    case PRODUCTS -> exportService.writeProductsCsv(out);
+                    case SALES_ORDERS -> exportService.writeSalesOrdersCsv(job.start, job.end, out);
+                    case SALES_LINES -> exportService.writeSalesLinesCsv(job.start, job.end, out);
+                    case STOCK_ADJUSTMENTS -> exportService.writeStockAdjustmentsCsv(job.start, job.end, out);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.file = target;
+            job.sizeBytes = Files.size(target);
+            job.completedAt = LocalDateTime.now();
+            job.status = Status.COMPLETED;
+        } catch (Exception e) {
+            log.warn("Export {} ({}) failed", job.id, job.type, e);
+            delete(tmp);
+            job.error = "Export failed";
+            job.completedAt = LocalDateTime.now();
+            job.status = Status.FAILED;
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) throw new ResourceNotFoundException("Export job not found: " + id);
+        return job;
+    }
+
+    private void delete(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final Type type;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final String requestedBy;
+        final LocalDateTime createdAt = LocalDateTime.now();
+
+        volatile Status status = Status.QUEUED;
+        volatile Path file;
+        volatile Long sizeBytes;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        Job(String id, Type type, LocalDateTime start, LocalDateTime end, String requestedBy) {
+            this.id = id;
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.requestedBy = requestedBy;
+        }
+
+        ExportJobResponse toResponse() {
+            return ExportJobResponse.builder()
+                    .id(id)
+                    .type(type)
+                    .status(status)
+                    .startDate(start)
+                    .endDate(end)
+                    .requestedBy(requestedBy)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .sizeBytes(sizeBytes)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,84 +1,192 @@
 package com.inventory.service;
 
-import com.inventory.entity.Product;
-import com.inventory.entity.SalesOrder;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SalesOrderRepository;
+import com.inventory.repository.StockAdjustmentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Writes CSV exports straight to the caller's stream. Rows come from a
+ * forward-only cursor of scalar projections, so memory use does not grow with
+ * the number of rows; the writer is flushed and the persistence context
+ * cleared every {@link #FLUSH_EVERY} rows. Order lines are also available as
+ * Parquet, which holds at most one row group in memory.
+ */
 @Service
 @RequiredArgsConstructor
 public class ExportService {
 
+    private static final int FLUSH_EVERY = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<ParquetWriter.Column> SALES_LINE_COLUMNS = List.of(
+            ParquetWriter.Column.string("order_number"),
+            ParquetWriter.Column.timestamp("order_date"),
+            ParquetWriter.Column.string("status"),
+            ParquetWriter.Column.string("department"),
+            ParquetWriter.Column.string("sku"),
+            ParquetWriter.Column.string("category"),
+            ParquetWriter.Column.int32("quantity"),
+            ParquetWriter.Column.decimal("unit_price", 2),
+            ParquetWriter.Column.decimal("discount_percent", 2),
+            ParquetWriter.Column.decimal("line_total", 2));
+
     private final ProductRepository products;
     private final SalesOrderRepository salesOrders;
+    private final StockAdjustmentRepository adjustments;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void writeProductsCsv(OutputStream out) throws IOException {
+        CsvWriter w = writer(out);
+        w.header("SKU", "Name", "Category", "Quantity", "ReorderPoint", "CostPrice", "UnitPrice", "TotalValue");
+
+        try (Stream<Object[]> rows = products.streamActiveForExport()) {
+            long n = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] r = it.next();
+                int qty = r[3] == null ? 0 : (Integer) r[3];
+                BigDecimal cost = (BigDecimal) r[5];
+                w.field((String) r[0])
+                        .field((String) r[1])
+                        .field((String) r[2])
+                        .field(qty)
+                        .field(r[4] == null ? 0 : (Integer) r[4])
+                        .field(cost)
+                        .field((BigDecimal) r[6])
+                        .field(cost == null ? BigDecimal.ZERO : cost.multiply(BigDecimal.valueOf(qty)))
+                        .endRow();
+                if (++n % FLUSH_EVERY == 0) checkpoint(w);
+            }
+        }
+
+        w.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeSalesOrdersCsv(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        CsvWriter w = writer(out);
+        w.header("OrderNumber", "Customer", "OrderDate", "Status", "Subtotal", "Tax", "Discount", "Total");
 
-    public byte[] exportProductsToCsv() {
-        List<Product> list = products.findByIsActiveTrue();
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter w = new PrintWriter(out);
-
-        w.println("SKU,Name,Category,Quantity,ReorderPoint,CostPrice,UnitPrice,TotalValue");
-        for (Product p : list) {
-            w.printf("%s,%s,%s,%d,%d,%s,%s,%s%n",
-                    esc(p.getSku()),
-                    esc(p.getName()),
-                    esc(p.getCategory() != null ? p.getCategory().getName() : ""),
-                    p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand(),
-                    p.getReorderPoint() == null ? 0 : p.getReorderPoint(),
-                    nvl(p.getCostPrice()),
-                    nvl(p.getUnitPrice()),
-                    nvl(p.getTotalValue())
-            );
+        try (Stream<Object[]> rows = salesOrders.streamForExport(start, end)) {
+            long n = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] r = it.next();
+                w.field((String) r[0])
+                        .field(r[1] != null ? (String) r[1] : "Walk-in")
+                        .field((LocalDateTime) r[2])
+                        .field(r[3] != null ? ((Enum<?>) r[3]).name() : null)
+                        .field((BigDecimal) r[4])
+                        .field((BigDecimal) r[5])
+                        .field((BigDecimal) r[6])
+                        .field((BigDecimal) r[7])
+                        .endRow();
+                if (++n % FLUSH_EVERY == 0) checkpoint(w);
+            }
         }
 
         w.flush();
-        return out.toByteArray();
     }
 
-    public byte[] exportSalesOrdersToCsv(LocalDateTime start, LocalDateTime end) {
-        List<SalesOrder> list = salesOrders.findByOrderDateBetween(start, end);
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter w = new PrintWriter(out);
-
-        w.println("OrderNumber,Customer,OrderDate,Status,Subtotal,Tax,Discount,Total");
-
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        for (SalesOrder o : list) {
-            w.printf("%s,%s,%s,%s,%s,%s,%s,%s%n",
-                    esc(o.getOrderNumber()),
-                    esc(o.getCustomer() != null ? o.getCustomer().getName() : "Walk-in"),
-                    o.getOrderDate() != null ? esc(o.getOrderDate().format(fmt)) : "",
-                    o.getStatus() != null ? esc(o.getStatus().name()) : "", // Fix: check null status
-                    nvl(o.getSubtotal()),
-                    nvl(o.getTaxAmount()),
-                    nvl(o.getDiscountAmount()),
-                    nvl(o.getTotalAmount())
-            );
+    /** One row per order line, denormalized with the order and product attributes analysts group by. */
+    @Transactional(readOnly = true)
+    public void writeSalesLinesCsv(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        CsvWriter w = writer(out);
+        w.header("OrderNumber", "OrderDate", "Status", "Department", "SKU", "Category",
+                "Quantity", "UnitPrice", "DiscountPercent", "LineTotal");
+
+        try (Stream<Object[]> rows = salesOrders.streamLinesForExport(start, end)) {
+            long n = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] r = it.next();
+                w.field((String) r[0])
+                        .field((LocalDateTime) r[1])
+                        .field(r[2] != null ? ((Enum<?>) r[2]).name() : null)
+                        .field((String) r[3])
+                        .field((String) r[4])
+                        .field((String) r[5])
+                        .field((Integer) r[6])
+                        .field((BigDecimal) r[7])
+                        .field((BigDecimal) r[8])
+                        .field((BigDecimal) r[9])
+                        .endRow();
+                if (++n % FLUSH_EVERY == 0) checkpoint(w);
+            }
         }
 
         w.flush();
-        return out.toByteArray();
     }
 
-    private String nvl(Object v) {
-        return v == null ? "" : v.toString();
+    /**
+     * The same rows as {@link #writeSalesLinesCsv} as a Parquet file: repeated
+     * columns are dictionary-encoded and every column chunk is compressed
+     * separately, one row group at a time.
+     */
+    @Transactional(readOnly = true)
+    public void writeSalesLinesParquet(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        ParquetWriter w = new ParquetWriter(new BufferedOutputStream(out, BUFFER_SIZE), SALES_LINE_COLUMNS);
+
+        try (Stream<Object[]> rows = salesOrders.streamLinesForExport(start, end)) {
+            long n = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] r = it.next();
+                w.write(r[0], r[1], r[2] != null ? ((Enum<?>) r[2]).name() : null,
+                        r[3], r[4], r[5], r[6], r[7], r[8], r[9]);
+                if (++n % FLUSH_EVERY == 0) entityManager.clear();
+            }
+        }
+
+        w.finish();
     }
 
-    private String esc(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+    @Transactional(readOnly = true)
+    public void writeStockAdjustmentsCsv(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        CsvWriter w = writer(out);
+        w.header("Date", "SKU", "Product", "Type", "Change", "QuantityBefore", "QuantityAfter",
+                "Reason", "Reference", "AdjustedBy");
+
+        try (Stream<Object[]> rows = adjustments.streamForExport(start, end)) {
+            long n = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] r = it.next();
+                w.field((LocalDateTime) r[0])
+                        .field((String) r[1])
+                        .field((String) r[2])
+                        .field(((Enum<?>) r[3]).name())
+                        .field((Integer) r[4])
+                        .field((Integer) r[5])
+                        .field((Integer) r[6])
+                        .field((String) r[7])
+                        .field((String) r[8])
+                        .field((String) r[9])
+                        .endRow();
+                if (++n % FLUSH_EVERY == 0) checkpoint(w);
+            }
         }
-        return value;
+
+        w.flush();
+    }
+
+    private CsvWriter writer(OutputStream out) {
+        return new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /** Pushes the rows written so far to the client; fails fast if it went away. */
+    private void checkpoint(CsvWriter w) throws IOException {
+        entityManager.clear();
+        w.flush();
     }
-}
\ No newline at end of file
+}
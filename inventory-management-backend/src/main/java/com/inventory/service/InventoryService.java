@@ -1,19 +1,24 @@
 package com.inventory.service;
 
 import com.inventory.dto.request.StockAdjustmentRequest;
+import com.inventory.dto.response.CursorPage;
 import com.inventory.entity.Product;
 import com.inventory.entity.StockAdjustment;
 import com.inventory.entity.User;
+import com.inventory.event.StockChangedEvent;
 import com.inventory.exception.BadRequestException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.StockAdjustmentRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
@@ -22,6 +27,7 @@ public class InventoryService {
     private final StockAdjustmentRepository adjustments;
     private final SecurityUtils securityUtils;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public StockAdjustment adjust(StockAdjustmentRequest req) {
@@ -78,6 +84,7 @@ public class InventoryService {
                 .build();
 
         StockAdjustment saved = adjustments.save(sa);
+        events.publishEvent(new StockChangedEvent(List.of(p.getId())));
 
         if (p.isLowStock()) {
             notificationService.lowStock(
@@ -99,4 +106,18 @@ public class InventoryService {
         }
         return adjustments.findByProductId(productId, pageable);
     }
+
+    /** Keyset-paged {@link #history}, newest first. */
+    @Transactional(readOnly = true)
+    public CursorPage<StockAdjustment> historyAfter(Long productId, String cursor, int size, boolean includeTotal) {
+        if (!products.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found: " + productId);
+        }
+        SeekCursor after = SeekCursor.newestFirst(cursor);
+        int pageSize = SeekCursor.pageSize(size);
+        List<StockAdjustment> rows = adjustments.findByProductIdBefore(productId, after.at(), after.id(),
+                SeekCursor.limit(pageSize));
+        return CursorPage.of(rows, pageSize, a -> SeekCursor.encode(a.getCreatedAt(), a.getId()),
+                includeTotal ? adjustments.countByProductId(productId) : null);
+    }
 }
\ No newline at end of file
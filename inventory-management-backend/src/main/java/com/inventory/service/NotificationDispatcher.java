@@ -0,0 +1,144 @@
+package com.inventory.service;
+
+import com.inventory.entity.Notification;
+import com.inventory.entity.NotificationOutbox;
+import com.inventory.entity.User;
+import com.inventory.repository.NotificationOutboxRepository;
+import com.inventory.repository.NotificationRepository;
+import com.inventory.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains {@link NotificationOutbox} into per-admin {@link Notification} rows.
+ * <p>
+ * Writers trigger a drain after commit; a periodic poll picks up anything a
+ * trigger missed (crash, rejected task, entries deferred to a later time).
+ * Only one drain runs per instance, and entries are claimed with a conditional
+ * update so several instances never deliver the same entry twice.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationOutboxRepository outbox;
+    private final NotificationRepository notifications;
+    private final UserRepository users;
+    private final Executor taskExecutor;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final boolean async;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+
+    public NotificationDispatcher(NotificationOutboxRepository outbox,
+                                  NotificationRepository notifications,
+                                  UserRepository users,
+                                  @Qualifier("taskExecutor") Executor taskExecutor,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${app.notifications.dispatch-batch-size:100}") int batchSize,
+                                  @Value("${app.notifications.async-dispatch:true}") boolean async) {
+        this.outbox = outbox;
+        this.notifications = notifications;
+        this.users = users;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.async = async;
+        // REQUIRES_NEW: triggers may fire from afterCommit, where the caller's resources are still bound
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Asks for a drain without blocking the caller. If a drain is already
+     * running it will do another pass before stopping.
+     */
+    public void trigger() {
+        if (!async) {
+            drain();
+            return;
+        }
+        try {
+            taskExecutor.execute(this::drain);
+        } catch (RuntimeException e) {
+            log.warn("Notification dispatch not scheduled, will be picked up by the poller: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.poll-interval-ms:30000}")
+    public void poll() {
+        drain();
+    }
+
+    @Scheduled(cron = "0 15 0 * * *") // daily at 00:15
+    public void purgeProcessed() {
+        int removed = tx.execute(status -> outbox.deleteProcessedBefore(LocalDateTime.now().minusDays(7)));
+        log.info("Removed {} processed notification outbox entries", removed);
+    }
+
+    void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            rerun.set(true);
+            return;
+        }
+        try {
+            do {
+                rerun.set(false);
+                while (dispatchBatch() == batchSize) {
+                    // full batch: there may be more
+                }
+            } while (rerun.get());
+        } catch (RuntimeException e) {
+            log.error("Notification dispatch failed, will retry on next poll", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int dispatchBatch() {
+        return tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> ready = outbox.findReady(now, PageRequest.of(0, batchSize));
+            if (ready.isEmpty()) return 0;
+
+            List<User> admins = users.findByRoleName("ADMIN");
+            List<Notification> batch = new ArrayList<>(ready.size() * Math.max(admins.size(), 1));
+
+            for (NotificationOutbox entry : ready) {
+                if (outbox.claim(entry.getId(), now) == 0) continue;
+
+                if (admins.isEmpty()) {
+                    log.warn("No ADMIN users found to notify: {}", entry.getTitle());
+                }
+                for (User admin : admins) {
+                    batch.add(Notification.builder()
+                            .user(admin)
+                            .type(entry.getType())
+                            .title(entry.getTitle())
+                            .message(entry.getMessage())
+                            .referenceType(entry.getReferenceType())
+                            .referenceId(entry.getReferenceId())
+                            .isRead(false)
+                            .build());
+                }
+            }
+
+            notifications.saveAll(batch);
+            return ready.size();
+        });
+    }
+}
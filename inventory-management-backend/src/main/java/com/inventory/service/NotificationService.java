@@ -1,16 +1,27 @@
 package com.inventory.service;
 
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.NotificationResponse;
 import com.inventory.entity.Notification;
+import com.inventory.entity.NotificationOutbox;
 import com.inventory.entity.User;
+import com.inventory.repository.NotificationOutboxRepository;
 import com.inventory.repository.NotificationRepository;
 import com.inventory.repository.UserRepository;
 import com.inventory.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
 
 import java.util.List;
 
@@ -22,15 +33,33 @@ public class NotificationService {
     private final NotificationRepository notifications;
     private final UserRepository users;
     private final SecurityUtils securityUtils;
+    private final NotificationOutboxRepository outbox;
+    private final NotificationDispatcher dispatcher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.low-stock-window-minutes:60}")
+    private long lowStockWindowMinutes;
 
     @Transactional(readOnly = true)
-    public Page<Notification> myNotifications(Pageable pageable) {
+    public Page<NotificationResponse> myNotifications(Pageable pageable) {
         User me = securityUtils.getCurrentUser();
         return notifications.findByUserId(me.getId(), pageable);
     }
 
+    /** Keyset-paged {@link #myNotifications}, newest first. */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> myNotificationsAfter(String cursor, int size, boolean includeTotal) {
+        User me = securityUtils.getCurrentUser();
+        SeekCursor after = SeekCursor.newestFirst(cursor);
+        int pageSize = SeekCursor.pageSize(size);
+        List<NotificationResponse> rows = notifications.findByUserIdBefore(me.getId(), after.at(), after.id(),
+                SeekCursor.limit(pageSize));
+        return CursorPage.of(rows, pageSize, n -> SeekCursor.encode(n.getCreatedAt(), n.getId()),
+                includeTotal ? notifications.countByUserId(me.getId()) : null);
+    }
+
     @Transactional(readOnly = true)
-    public List<Notification> myUnread() {
+    public List<NotificationResponse> myUnread() {
         User me = securityUtils.getCurrentUser();
         return notifications.findUnreadByUserId(me.getId());
     }
@@ -84,15 +113,70 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Records the alert in the outbox as part of the caller's transaction; admins
+     * are notified by {@link NotificationDispatcher} once it commits, so the
+     * caller doesn't hold its stock locks while notifications are written.
+     * <p>
+     * At most one alert per product is emitted per window. Within the window a
+     * new event only refreshes the stock figure of the alert that is still
+     * pending, or of the admins' unread copies if it was already delivered.
+     * Callers hold the product row lock, which serialises this per product.
+     */
     @Transactional
     public void lowStock(Long productId, String sku, String productName, int currentStock, int reorderPoint) {
-        notifyAdmins(
-                Notification.NotificationType.LOW_STOCK,
-                "Low Stock Alert: " + productName,
-                String.format("Product \"%s\" (SKU: %s) is below reorder point. Current: %d, Reorder point: %d",
-                        productName, sku, currentStock, reorderPoint),
-                "PRODUCT",
-                productId
-        );
+        LocalDateTime now = LocalDateTime.now();
+        String message = String.format("Product \"%s\" (SKU: %s) is below reorder point. Current: %d, Reorder point: %d",
+                productName, sku, currentStock, reorderPoint);
+
+        NotificationOutbox latest = outbox
+                .findFirstByTypeAndReferenceIdOrderByIdDesc(Notification.NotificationType.LOW_STOCK, productId)
+                .orElse(null);
+
+        // Never modify the loaded row: flushing it would write back a processed_at the
+        // dispatcher has claimed in the meantime and the alert would go out again.
+        if (latest != null && latest.getProcessedAt() == null) {
+            if (outbox.updatePendingMessage(latest.getId(), message) > 0) {
+                lowStockCounter("suppressed").increment();
+                return;
+            }
+            // claimed since we read it, so it is being delivered now: refresh the delivered copies
+        }
+
+        LocalDateTime windowStart = now.minusMinutes(lowStockWindowMinutes);
+        if (latest != null && (latest.getProcessedAt() == null || latest.getProcessedAt().isAfter(windowStart))) {
+            notifications.refreshUnreadMessage(Notification.NotificationType.LOW_STOCK, productId, windowStart, message);
+            lowStockCounter("suppressed").increment();
+            return;
+        }
+
+        outbox.save(NotificationOutbox.builder()
+                .type(Notification.NotificationType.LOW_STOCK)
+                .title("Low Stock Alert: " + productName)
+                .message(message)
+                .referenceType("PRODUCT")
+                .referenceId(productId)
+                .availableAt(now)
+                .build());
+        lowStockCounter("emitted").increment();
+
+        dispatchAfterCommit();
+    }
+
+    private Counter lowStockCounter(String result) {
+        return meterRegistry.counter("notifications.low-stock.alerts", "result", result);
+    }
+
+    private void dispatchAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.trigger();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.trigger();
+            }
+        });
     }
 }
\ No newline at end of file
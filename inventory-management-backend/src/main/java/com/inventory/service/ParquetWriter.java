@@ -0,0 +1,390 @@
+package com.inventory.service;
+
+import org.apache.parquet.format.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Minimal streaming Parquet writer for flat, nullable columns. Rows are
+ * buffered until a row group is full, then written column by column: a
+ * dictionary page plus a page of RLE/bit-packed indices when the column has
+ * few distinct values (the common case for status, department, category and
+ * SKU), PLAIN values otherwise. Pages are GZIP-compressed. Only the buffered
+ * row group is held in memory; the footer is written by {@link #finish()}.
+ * Not thread-safe; one instance per export.
+ */
+public final class ParquetWriter {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_DICTIONARY_ENTRIES = 32 * 1024;
+    private static final int MAX_DICTIONARY_BYTES = 1024 * 1024;
+    private static final String CREATED_BY = "inventory-management-backend";
+
+    /** A leaf column; values are passed to {@link #write} as String, LocalDateTime, Integer or BigDecimal. */
+    public static final class Column {
+        final String name;
+        final Type type;
+        final int scale;
+
+        private Column(String name, Type type, int scale) {
+            this.name = name;
+            this.type = type;
+            this.scale = scale;
+        }
+
+        public static Column string(String name) {
+            return new Column(name, Type.BYTE_ARRAY, -1);
+        }
+
+        /** Local date-time, stored as milliseconds without a time zone adjustment. */
+        public static Column timestamp(String name) {
+            return new Column(name, Type.INT64, -1);
+        }
+
+        public static Column int32(String name) {
+            return new Column(name, Type.INT32, -1);
+        }
+
+        /** DECIMAL(18, scale) stored as an unscaled INT64. */
+        public static Column decimal(String name, int scale) {
+            return new Column(name, Type.INT64, scale);
+        }
+
+        SchemaElement schema() {
+            SchemaElement e = new SchemaElement(name)
+                    .setType(type)
+                    .setRepetition_type(FieldRepetitionType.OPTIONAL);
+            if (type == Type.BYTE_ARRAY) {
+                e.setConverted_type(ConvertedType.UTF8).setLogicalType(LogicalType.STRING(new StringType()));
+            } else if (scale >= 0) {
+                e.setConverted_type(ConvertedType.DECIMAL).setScale(scale).setPrecision(18)
+                        .setLogicalType(LogicalType.DECIMAL(new DecimalType(scale, 18)));
+            } else if (type == Type.INT64) {
+                // no converted type: TIMESTAMP_MILLIS would mean UTC-adjusted
+                e.setLogicalType(LogicalType.TIMESTAMP(new TimestampType(false, TimeUnit.MILLIS(new MilliSeconds()))));
+            }
+            return e;
+        }
+
+        /** The physical value: byte[] for strings, Integer for INT32, Long for INT64. */
+        Object physical(Object value) {
+            if (value == null) return null;
+            if (type == Type.BYTE_ARRAY) return value.toString().getBytes(StandardCharsets.UTF_8);
+            if (type == Type.INT32) return value;
+            if (scale >= 0) return ((BigDecimal) value).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+    }
+
+    private final CountingOutputStream out;
+    private final List<Column> columns;
+    private final int rowGroupSize;
+    private final Object[][] buffer;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private int buffered;
+    private long totalRows;
+
+    public ParquetWriter(OutputStream out, List<Column> columns) throws IOException {
+        this(out, columns, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ParquetWriter(OutputStream out, List<Column> columns, int rowGroupSize) throws IOException {
+        this.out = new CountingOutputStream(out);
+        this.columns = List.copyOf(columns);
+        this.rowGroupSize = Math.max(rowGroupSize, 1);
+        this.buffer = new Object[columns.size()][this.rowGroupSize];
+        this.out.write(MAGIC);
+    }
+
+    /** Buffers one row, in column order; writes out the row group once it is full. */
+    public void write(Object... row) throws IOException {
+        if (row.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + row.length);
+        }
+        for (int c = 0; c < row.length; c++) {
+            buffer[c][buffered] = columns.get(c).physical(row[c]);
+        }
+        if (++buffered == rowGroupSize) flushRowGroup();
+    }
+
+    /** Writes the last row group and the footer. The underlying stream is flushed, not closed. */
+    public void finish() throws IOException {
+        flushRowGroup();
+
+        List<SchemaElement> schema = new ArrayList<>(columns.size() + 1);
+        schema.add(new SchemaElement("schema").setNum_children(columns.size()));
+        List<ColumnOrder> orders = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            schema.add(column.schema());
+            orders.add(ColumnOrder.TYPE_ORDER(new TypeDefinedOrder()));
+        }
+        FileMetaData meta = new FileMetaData(1, schema, totalRows, rowGroups)
+                .setCreated_by(CREATED_BY)
+                .setColumn_orders(orders);
+
+        long footerStart = out.count;
+        Util.writeFileMetaData(meta, out);
+        writeIntLE(out, (int) (out.count - footerStart));
+        out.write(MAGIC);
+        out.flush();
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (buffered == 0) return;
+        long start = out.count;
+        long uncompressed = 0;
+        List<ColumnChunk> chunks = new ArrayList<>(columns.size());
+        for (int c = 0; c < columns.size(); c++) {
+            ColumnChunk chunk = writeColumnChunk(columns.get(c), buffer[c], buffered);
+            uncompressed += chunk.getMeta_data().getTotal_uncompressed_size();
+            chunks.add(chunk);
+            Arrays.fill(buffer[c], 0, buffered, null);
+        }
+        rowGroups.add(new RowGroup(chunks, uncompressed, buffered)
+                .setFile_offset(start)
+                .setTotal_compressed_size(out.count - start));
+        totalRows += buffered;
+        buffered = 0;
+    }
+
+    private ColumnChunk writeColumnChunk(Column column, Object[] values, int rows) throws IOException {
+        long chunkStart = out.count;
+
+        // definition levels: 1 = present, 0 = null
+        int[] levels = new int[rows];
+        int nulls = 0;
+        for (int i = 0; i < rows; i++) {
+            if (values[i] == null) nulls++;
+            else levels[i] = 1;
+        }
+        ByteArrayOutputStream page = new ByteArrayOutputStream();
+        ByteArrayOutputStream levelBytes = new ByteArrayOutputStream();
+        encodeHybrid(levels, rows, 1, levelBytes);
+        writeIntLE(page, levelBytes.size());
+        levelBytes.writeTo(page);
+
+        Dictionary dict = Dictionary.build(values, rows);
+        long dictionaryOffset = -1;
+        long uncompressed = 0;
+        Encoding encoding;
+        if (dict != null) {
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            for (Object v : dict.entries) writePlain(v, plain);
+            dictionaryOffset = out.count;
+            PageHeader header = new PageHeader(PageType.DICTIONARY_PAGE, plain.size(), 0)
+                    .setDictionary_page_header(new DictionaryPageHeader(dict.entries.size(), Encoding.PLAIN_DICTIONARY));
+            uncompressed += writePage(header, plain);
+
+            int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dict.entries.size() - 1));
+            int[] indices = new int[rows - nulls];
+            for (int i = 0, n = 0; i < rows; i++) {
+                if (values[i] != null) indices[n++] = dict.index(values[i]);
+            }
+            page.write(bitWidth);
+            encodeHybrid(indices, indices.length, bitWidth, page);
+            encoding = Encoding.PLAIN_DICTIONARY;
+        } else {
+            for (int i = 0; i < rows; i++) {
+                if (values[i] != null) writePlain(values[i], page);
+            }
+            encoding = Encoding.PLAIN;
+        }
+
+        long dataOffset = out.count;
+        PageHeader header = new PageHeader(PageType.DATA_PAGE, page.size(), 0)
+                .setData_page_header(new DataPageHeader(rows, encoding, Encoding.RLE, Encoding.RLE));
+        uncompressed += writePage(header, page);
+
+        ColumnMetaData meta = new ColumnMetaData(column.type, List.of(encoding, Encoding.RLE), List.of(column.name),
+                CompressionCodec.GZIP, rows, uncompressed, out.count - chunkStart, dataOffset)
+                .setStatistics(statistics(column, values, rows, nulls));
+        if (dictionaryOffset >= 0) meta.setDictionary_page_offset(dictionaryOffset);
+        return new ColumnChunk(chunkStart).setMeta_data(meta);
+    }
+
+    /** Compresses the page body and writes header + body; returns the uncompressed size including the header. */
+    private long writePage(PageHeader header, ByteArrayOutputStream body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.size() / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(compressed)) {
+            body.writeTo(gz);
+        }
+        header.setCompressed_page_size(compressed.size());
+
+        long headerStart = out.count;
+        Util.writePageHeader(header, out);
+        long headerSize = out.count - headerStart;
+        compressed.writeTo(out);
+        return headerSize + body.size();
+    }
+
+    private static Statistics statistics(Column column, Object[] values, int rows, int nulls) {
+        Statistics stats = new Statistics().setNull_count(nulls);
+        if (column.type == Type.BYTE_ARRAY || nulls == rows) return stats;
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < rows; i++) {
+            if (values[i] == null) continue;
+            long v = ((Number) values[i]).longValue();
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        if (column.type == Type.INT32) {
+            return stats.setMin_value(littleEndian(4).putInt(0, (int) min).array())
+                    .setMax_value(littleEndian(4).putInt(0, (int) max).array());
+        }
+        return stats.setMin_value(littleEndian(8).putLong(0, min).array())
+                .setMax_value(littleEndian(8).putLong(0, max).array());
+    }
+
+    private static ByteBuffer littleEndian(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void writePlain(Object v, OutputStream out) throws IOException {
+        if (v instanceof byte[] bytes) {
+            writeIntLE(out, bytes.length);
+            out.write(bytes);
+        } else if (v instanceof Integer i) {
+            writeIntLE(out, i);
+        } else {
+            writeLongLE(out, (Long) v);
+        }
+    }
+
+    /**
+     * RLE / bit-packing hybrid encoding: runs of eight or more equal values
+     * become RLE runs, everything else is bit-packed in groups of eight. Only
+     * the final group may be padded, as readers stop at the page's value count.
+     */
+    static void encodeHybrid(int[] values, int count, int bitWidth, OutputStream out) throws IOException {
+        int i = 0;
+        while (i < count) {
+            int run = runLength(values, i, count);
+            if (run >= 8) {
+                writeVarInt(out, run << 1);
+                for (int b = 0, v = values[i]; b < (bitWidth + 7) / 8; b++, v >>>= 8) out.write(v & 0xFF);
+                i += run;
+                continue;
+            }
+            // bit-packed: take groups of eight until the next long run, at most 63 groups per header
+            int groups = 0;
+            int end = i;
+            do {
+                end += 8;
+                groups++;
+            } while (end < count && groups < 63 && runLength(values, end, count) < 8);
+            writeVarInt(out, (groups << 1) | 1);
+            long acc = 0;
+            int bits = 0;
+            for (int j = i; j < end; j++) {
+                acc |= (long) (j < count ? values[j] : 0) << bits;
+                bits += bitWidth;
+                while (bits >= 8) {
+                    out.write((int) (acc & 0xFF));
+                    acc >>>= 8;
+                    bits -= 8;
+                }
+            }
+            i = end;
+        }
+    }
+
+    private static int runLength(int[] values, int from, int count) {
+        int j = from + 1;
+        while (j < count && values[j] == values[from]) j++;
+        return j - from;
+    }
+
+    private static void writeVarInt(OutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static void writeIntLE(OutputStream out, int v) throws IOException {
+        for (int b = 0; b < 4; b++) out.write(v >>> (8 * b));
+    }
+
+    private static void writeLongLE(OutputStream out, long v) throws IOException {
+        for (int b = 0; b < 8; b++) out.write((int) (v >>> (8 * b)));
+    }
+
+    /** Distinct values of one column chunk in first-seen order, or null when the column is too diverse. */
+    private static final class Dictionary {
+        final List<Object> entries = new ArrayList<>();
+        final Map<Object, Integer> ids = new HashMap<>();
+
+        static Dictionary build(Object[] values, int rows) {
+            Dictionary dict = new Dictionary();
+            long bytes = 0;
+            int present = 0;
+            for (int i = 0; i < rows; i++) {
+                Object v = values[i];
+                if (v == null) continue;
+                present++;
+                Object key = key(v);
+                if (dict.ids.putIfAbsent(key, dict.entries.size()) == null) {
+                    dict.entries.add(v);
+                    bytes += v instanceof byte[] b ? 4 + b.length : v instanceof Integer ? 4 : 8;
+                    if (dict.entries.size() > MAX_DICTIONARY_ENTRIES || bytes > MAX_DICTIONARY_BYTES) return null;
+                }
+            }
+            // a dictionary only pays off when values repeat
+            return present > 0 && dict.entries.size() <= present / 2 ? dict : null;
+        }
+
+        int index(Object v) {
+            return ids.get(key(v));
+        }
+
+        private static Object key(Object v) {
+            return v instanceof byte[] b ? ByteBuffer.wrap(b) : v;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
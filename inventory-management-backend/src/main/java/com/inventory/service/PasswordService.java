@@ -2,6 +2,7 @@ package com.inventory.service;
 
 import com.inventory.dto.request.PasswordChangeRequest;
 import com.inventory.exception.BadRequestException;
+import com.inventory.exception.UnauthorizedException;
 import com.inventory.repository.UserRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +20,9 @@ public class PasswordService {
 
     @Transactional
     public void change(PasswordChangeRequest req) {
-        var me = securityUtils.getCurrentUser();
+        // Reload: the current user from SecurityUtils may be a shared cached copy
+        var me = users.findById(securityUtils.getCurrentUser().getId())
+                .orElseThrow(() -> new UnauthorizedException("User not found"));
 
         if (!encoder.matches(req.getCurrentPassword(), me.getPasswordHash())) {
             throw new BadRequestException("Current password is incorrect");
@@ -35,6 +38,7 @@ public class PasswordService {
 
         me.setPasswordHash(encoder.encode(req.getNewPassword()));
         users.save(me);
+        securityUtils.evict(me.getEmail());
     }
 
     /**
@@ -0,0 +1,254 @@
+package com.inventory.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead index: a character trie over the lower-cased terms of each entry
+ * (the whole label, every word in it, and a secondary key such as SKU or
+ * email), ranked by a popularity score.
+ * <p>
+ * Nodes keep their children in sorted parallel arrays. Once queried, a node
+ * caches the best {@link #CACHED} entry ids of its subtree, overall and per
+ * category asked for; writes clear the caches on the paths they touch, so
+ * repeated keystrokes on the same prefix walk the subtree once and then read
+ * the cache.
+ */
+final class PrefixIndex {
+
+    static final int CACHED = 20;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NONE = new long[0];
+
+    /** {@code category} is 0 when the entry has none. */
+    record Entry(long id, String label, String detail, long category, long score) {}
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::label, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(Entry::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    void put(long id, String label, String detail, Long category, long score) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Entry e = new Entry(id, label, detail, category == null ? 0 : category, score);
+            entries.put(id, e);
+            for (String term : terms(e)) insert(term, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} (at most {@link #CACHED}) entries with a term starting
+     * with {@code prefix}, most popular first. A null {@code category} matches
+     * every entry.
+     */
+    List<Entry> complete(String prefix, Long category, int limit) {
+        String p = normalize(prefix);
+        int k = Math.min(limit, CACHED);
+        if (p.isEmpty() || k <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node n = root;
+            for (int i = 0; i < p.length() && n != null; i++) n = n.child(p.charAt(i));
+            if (n == null) return List.of();
+
+            long[] top = category == null ? n.top : n.topIn(category);
+            if (top == null) {
+                top = rank(n, category, CACHED).stream().mapToLong(Entry::id).toArray();
+                n.cache(category, top);
+            }
+            List<Entry> out = new ArrayList<>(Math.min(k, top.length));
+            for (int i = 0; i < top.length && out.size() < k; i++) out.add(entries.get(top[i]));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+
+    /** Best {@code k} distinct entries in the subtree under {@code from}. */
+    private List<Entry> rank(Node from, Long category, int k) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(k + 1, RANKING.reversed());
+        Set<Long> seen = new HashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            for (long id : n.ids) {
+                if (!seen.add(id)) continue;
+                Entry e = entries.get(id);
+                if (category != null && e.category() != category) continue;
+                best.add(e);
+                if (best.size() > k) best.poll();
+            }
+            for (Node c : n.children) stack.push(c);
+        }
+        List<Entry> out = new ArrayList<>(best);
+        out.sort(RANKING);
+        return out;
+    }
+
+    private void removeLocked(long id) {
+        Entry old = entries.remove(id);
+        if (old == null) return;
+        for (String term : terms(old)) delete(term, id);
+    }
+
+    private void insert(String term, long id) {
+        Node n = root;
+        n.invalidate();
+        for (int i = 0; i < term.length(); i++) {
+            n = n.childOrCreate(term.charAt(i));
+            n.invalidate();
+        }
+        for (long existing : n.ids) if (existing == id) return;
+        n.ids = Arrays.copyOf(n.ids, n.ids.length + 1);
+        n.ids[n.ids.length - 1] = id;
+    }
+
+    /** Removes {@code id} from the term's node and prunes nodes left empty. */
+    private void delete(String term, long id) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+        for (Node n : path) n.invalidate();
+
+        Node end = path[term.length()];
+        int at = -1;
+        for (int i = 0; i < end.ids.length; i++) if (end.ids[i] == id) at = i;
+        if (at < 0) return;
+        long[] ids = new long[end.ids.length - 1];
+        System.arraycopy(end.ids, 0, ids, 0, at);
+        System.arraycopy(end.ids, at + 1, ids, at, ids.length - at);
+        end.ids = ids.length == 0 ? NONE : ids;
+
+        for (int i = term.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(term.charAt(i - 1));
+        }
+    }
+
+    private static Set<String> terms(Entry e) {
+        Set<String> terms = new LinkedHashSet<>();
+        String label = normalize(e.label());
+        if (!label.isEmpty()) terms.add(label);
+        for (String word : label.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) terms.add(word);
+        }
+        String detail = normalize(e.detail());
+        if (!detail.isEmpty()) terms.add(detail);
+        return terms;
+    }
+
+    static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        long[] ids = NONE;          // entries with a term ending here
+        volatile long[] top;        // cached ranking of the subtree; null = stale
+        volatile Map<Long, long[]> topByCategory;   // same, per category filter; null = none cached
+
+        long[] topIn(long category) {
+            Map<Long, long[]> cached = topByCategory;
+            return cached == null ? null : cached.get(category);
+        }
+
+        /** Called under the read lock, so concurrent readers may race to fill; any winner is correct. */
+        void cache(Long category, long[] ranking) {
+            if (category == null) {
+                top = ranking;
+                return;
+            }
+            Map<Long, long[]> cached = topByCategory;
+            if (cached == null) {
+                cached = new ConcurrentHashMap<>();
+                topByCategory = cached;
+            }
+            cached.put(category, ranking);
+        }
+
+        void invalidate() {
+            top = null;
+            topByCategory = null;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            i = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] ch = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(children, 0, ch, 0, i);
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(children, i, ch, i + 1, children.length - i);
+            k[i] = c;
+            ch[i] = new Node();
+            keys = k;
+            children = ch;
+            return ch[i];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) return;
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] k = new char[keys.length - 1];
+            Node[] ch = new Node[children.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(children, 0, ch, 0, i);
+            System.arraycopy(keys, i + 1, k, i, k.length - i);
+            System.arraycopy(children, i + 1, ch, i, ch.length - i);
+            keys = k;
+            children = ch;
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0 && keys.length == 0;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.ProductLookupResponse;
+import com.inventory.event.ProductChangedEvent;
+import com.inventory.event.StockChangedEvent;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Barcode / SKU to product map for POS scanners ({@code /products/lookup}).
+ * <p>
+ * Holds one small immutable entry per active product, keyed by barcode and by
+ * SKU, so a scan is a hash lookup with no database round trip. That costs
+ * about 400 bytes of heap per product, strings included (see
+ * ProductLookupIndexBenchmarkTest); size the heap for the catalogue. Loaded after
+ * startup; product and stock changes queue the product on commit, and a
+ * scheduled batch re-reads the queued rows. Until the first load finishes,
+ * lookups go to the database.
+ * <p>
+ * So a scan can report a price, name or on-hand quantity up to
+ * {@code app.product-lookup.refresh-ms} (plus the batch's own read) behind
+ * the database. That is accepted for POS display: the sale itself locks and
+ * checks stock in the database, never from this map.
+ */
+@Service
+@Slf4j
+public class ProductLookupIndex {
+
+    private static final int RELOAD_BATCH = 500;
+
+    private record Entry(long id, String sku, String barcode, String name, BigDecimal unitPrice,
+                         int quantity, LocalDate expiryDate) {
+
+        ProductLookupResponse toResponse() {
+            return ProductLookupResponse.builder()
+                    .id(id)
+                    .sku(sku)
+                    .barcode(barcode)
+                    .name(name)
+                    .unitPrice(unitPrice)
+                    .quantityOnHand(quantity)
+                    .isExpired(expiryDate != null && expiryDate.isBefore(LocalDate.now()))
+                    .build();
+        }
+    }
+
+    private final ProductRepository products;
+    private final Executor taskExecutor;
+    private final TransactionTemplate tx;
+
+    // replaced wholesale on rebuild; otherwise only mutated under loadLock
+    private volatile Map<String, Entry> byBarcode = new ConcurrentHashMap<>();
+    private volatile Map<String, Entry> bySku = new ConcurrentHashMap<>();
+    private Map<Long, Entry> byId = new HashMap<>(); // writer side only, to find stale keys
+
+    private final Object loadLock = new Object();   // one rebuild or change batch at a time
+    private final Set<Long> changedProducts = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public ProductLookupIndex(ProductRepository products,
+                              @Qualifier("taskExecutor") Executor taskExecutor,
+                              PlatformTransactionManager txManager) {
+        this.products = products;
+        this.taskExecutor = taskExecutor;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
+    }
+
+    /** Barcode first (what scanners send), then SKU. */
+    public ProductLookupResponse lookup(String code) {
+        String key = code == null ? "" : code.trim();
+        if (ready) {
+            Entry e = byBarcode.get(key);
+            if (e == null) e = bySku.get(key);
+            if (e != null) return e.toResponse();
+            throw new ResourceNotFoundException("No product with barcode or SKU: " + key);
+        }
+
+        List<Object[]> rows = tx.execute(status -> products.findLookupRowsByCode(key));
+        return Optional.ofNullable(rows).orElse(List.of()).stream()
+                .map(ProductLookupIndex::entry)
+                .min(Comparator.comparing((Entry e) -> !key.equals(e.barcode())))
+                .map(Entry::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("No product with barcode or SKU: " + key));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    public void rebuild() {
+        synchronized (loadLock) {
+            long started = System.currentTimeMillis();
+            List<Entry> fresh = new ArrayList<>();
+            tx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = products.streamLookupRows()) {
+                    rows.forEach(r -> fresh.add(entry(r)));
+                }
+            });
+
+            Map<Long, Entry> ids = new HashMap<>();
+            Map<String, Entry> barcodes = new ConcurrentHashMap<>();
+            Map<String, Entry> skus = new ConcurrentHashMap<>();
+            fresh.forEach(e -> index(e, ids, barcodes, skus));
+            byId = ids;
+            byBarcode = barcodes;
+            bySku = skus;
+            ready = true;
+            log.info("Product lookup map loaded: {} products in {} ms", fresh.size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    /** Runs on the committing thread (every sale), so it only queues the ids. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changedProducts.add(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.getProductIds() != null) changedProducts.addAll(event.getProductIds());
+    }
+
+    /**
+     * Re-reads the products changed since the last run in one query and swaps
+     * their entries in. Serialized with {@link #rebuild()}, so a change that
+     * commits while a rebuild is reading is applied to the new maps afterwards.
+     * If the read fails, the ids go back on the queue.
+     */
+    @Scheduled(fixedDelayString = "${app.product-lookup.refresh-ms:500}")
+    public void applyChangedProducts() {
+        if (changedProducts.isEmpty()) return;
+        synchronized (loadLock) {
+            List<Long> ids = new ArrayList<>(changedProducts);
+            changedProducts.removeAll(ids);
+            Map<Long, Entry> fresh = new HashMap<>();
+            try {
+                tx.executeWithoutResult(status -> {
+                    for (int i = 0; i < ids.size(); i += RELOAD_BATCH) {
+                        products.findLookupRows(ids.subList(i, Math.min(ids.size(), i + RELOAD_BATCH)))
+                                .forEach(r -> fresh.put((Long) r[0], entry(r)));
+                    }
+                });
+            } catch (RuntimeException e) {
+                changedProducts.addAll(ids);
+                throw e;
+            }
+            ids.forEach(id -> replace(id, fresh.get(id)));
+        }
+    }
+
+    /**
+     * Puts the new entry before dropping the old one's keys, and drops only the
+     * keys that changed, so a concurrent scan never misses a product that still
+     * has that barcode or SKU. A null entry means the product is gone or inactive.
+     */
+    private void replace(Long id, Entry e) {
+        Entry old = e == null ? byId.remove(id) : byId.put(id, e);
+        if (e != null) {
+            bySku.put(e.sku(), e);
+            if (barcodeKey(e) != null) byBarcode.put(barcodeKey(e), e);
+        }
+        if (old == null) return;
+        if (e == null || !old.sku().equals(e.sku())) bySku.remove(old.sku(), old);
+        String oldBarcode = barcodeKey(old);
+        if (oldBarcode != null && (e == null || !oldBarcode.equals(barcodeKey(e)))) byBarcode.remove(oldBarcode, old);
+    }
+
+    private static void index(Entry e, Map<Long, Entry> ids, Map<String, Entry> barcodes, Map<String, Entry> skus) {
+        ids.put(e.id(), e);
+        skus.put(e.sku(), e);
+        if (barcodeKey(e) != null) barcodes.put(barcodeKey(e), e);
+    }
+
+    private static String barcodeKey(Entry e) {
+        return e.barcode() == null || e.barcode().isBlank() ? null : e.barcode().trim();
+    }
+
+    /** Row layout matches {@link ProductRepository#LOOKUP_ROWS}. */
+    private static Entry entry(Object[] r) {
+        return new Entry((Long) r[0], (String) r[1], (String) r[2], (String) r[3], (BigDecimal) r[4],
+                r[5] == null ? 0 : (Integer) r[5], (LocalDate) r[6]);
+    }
+}
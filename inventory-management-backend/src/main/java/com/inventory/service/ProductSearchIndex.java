@@ -0,0 +1,129 @@
+package com.inventory.service;
+
+import com.inventory.event.ProductChangedEvent;
+import com.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link TrigramIndex} of active products for {@code /products/search}.
+ * Loaded after startup on the task executor; until then, and for queries
+ * shorter than a trigram, callers fall back to the LIKE queries. Product
+ * create/update/delete queue the product on commit, and a scheduled batch
+ * re-reads the queued rows.
+ */
+@Service
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int RELOAD_BATCH = 500;
+
+    private final ProductRepository products;
+    private final Executor taskExecutor;
+    private final TransactionTemplate tx;
+
+    private final Object loadLock = new Object();   // one rebuild or change batch at a time
+    private final Set<Long> changedProducts = ConcurrentHashMap.newKeySet();
+    private volatile TrigramIndex index = new TrigramIndex();
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository products,
+                              @Qualifier("taskExecutor") Executor taskExecutor,
+                              PlatformTransactionManager txManager) {
+        this.products = products;
+        this.taskExecutor = taskExecutor;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    public void rebuild() {
+        synchronized (loadLock) {
+            long started = System.currentTimeMillis();
+            TrigramIndex fresh = new TrigramIndex();
+            tx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = products.streamSearchRows()) {
+                    rows.forEach(r -> fresh.put((Long) r[0], (String) r[1], (String) r[2], (Long) r[3]));
+                }
+            });
+            index = fresh;
+            ready = true;
+            log.info("Product search index loaded: {} products in {} ms",
+                    fresh.size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    /** Runs on the committing thread, so it only queues the id. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changedProducts.add(event.getProductId());
+    }
+
+    /**
+     * Re-reads the products changed since the last run, in batches, and puts
+     * or removes them. Serialized with {@link #rebuild()}, so a change that
+     * commits while a rebuild is reading is applied to the new index
+     * afterwards. If the read fails, the ids go back on the queue.
+     */
+    @Scheduled(fixedDelayString = "${app.product-search.refresh-ms:500}")
+    public void applyChangedProducts() {
+        if (changedProducts.isEmpty()) return;
+        synchronized (loadLock) {
+            List<Long> ids = new ArrayList<>(changedProducts);
+            changedProducts.removeAll(ids);
+            Map<Long, Object[]> rows = new HashMap<>();
+            try {
+                tx.executeWithoutResult(status -> {
+                    for (int i = 0; i < ids.size(); i += RELOAD_BATCH) {
+                        products.findSearchRows(ids.subList(i, Math.min(ids.size(), i + RELOAD_BATCH)))
+                                .forEach(r -> rows.put((Long) r[0], r));
+                    }
+                });
+            } catch (RuntimeException e) {
+                changedProducts.addAll(ids);
+                throw e;
+            }
+
+            TrigramIndex current = index;
+            for (Long id : ids) {
+                Object[] r = rows.get(id);
+                if (r == null) current.remove(id);   // deleted or deactivated
+                else current.put(id, (String) r[1], (String) r[2], (Long) r[3]);
+            }
+        }
+    }
+
+    /** Whether {@link #search} can answer this query; otherwise use the database. */
+    public boolean canAnswer(String query) {
+        return ready && query != null && query.length() >= TrigramIndex.MIN_QUERY_LENGTH;
+    }
+
+    /** Ids of active products whose name or SKU contains the query, ascending. */
+    public long[] search(String query, Long categoryId) {
+        return index.search(query, categoryId);
+    }
+
+    /** Drops ids the caller found missing or inactive in the database (changed without an event). */
+    public void evict(Collection<Long> ids) {
+        TrigramIndex current = index;
+        ids.forEach(current::remove);
+    }
+}
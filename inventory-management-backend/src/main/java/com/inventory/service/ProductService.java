@@ -1,13 +1,17 @@
 package com.inventory.service;
 
 import com.inventory.dto.request.ProductRequest;
+import com.inventory.dto.response.AutocompleteResponse;
+import com.inventory.dto.response.CursorPage;
 import com.inventory.dto.response.ProductResponse;
 import com.inventory.entity.*;
+import com.inventory.event.ProductChangedEvent;
 import com.inventory.exception.BadRequestException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.*;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +28,9 @@ public class ProductService {
     private final CategoryRepository categories;
     private final SupplierRepository suppliers;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher events;
+    private final ProductSearchIndex searchIndex;
+    private final AutocompleteService autocomplete;
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAll(Pageable pageable) {
@@ -34,29 +41,105 @@ public class ProductService {
         if (role.equals("INVENTORY_STAFF") || role.equals("SALES_EXECUTIVE")) {
             String dept = user.getDepartment();
             if (dept != null && !dept.isEmpty()) {
-                return products.findByCategoryName(dept, pageable).map(this::toResponse);
+                return products.findByCategoryName(dept, pageable).map(this::toListResponse);
             }
         }
 
         // 2. Admin sees ALL ACTIVE products
-        return products.findByIsActiveTrue(pageable).map(this::toResponse);
+        return products.findActiveList(pageable).map(this::toListResponse);
+    }
+
+    /** Keyset-paged {@link #getAll}, by id, with the same department scoping. */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getAllAfter(String cursor, int size, boolean includeTotal) {
+        String dept = searchDepartment();
+        SeekCursor after = SeekCursor.ascendingId(cursor);
+        int pageSize = SeekCursor.pageSize(size);
+
+        List<ProductRepository.ListView> rows;
+        Long total = null;
+        if (dept != null) {
+            rows = products.findActiveInCategoryAfter(dept, after.id(), SeekCursor.limit(pageSize));
+            if (includeTotal) total = products.countActiveInCategory(dept);
+        } else {
+            rows = products.findActiveAfter(after.id(), SeekCursor.limit(pageSize));
+            if (includeTotal) total = products.countByIsActiveTrue();
+        }
+        return CursorPage.of(rows, pageSize, p -> SeekCursor.encode(null, p.getId()), total)
+                .map(this::toListResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> search(String q, Pageable pageable) {
+        // 1. FILTER: Inventory Staff OR Sales Executive searches ONLY their Department
+        String dept = searchDepartment();
+
+        // 2. Served from the trigram index when it can; custom sorts still go to the database
+        if (searchIndex.canAnswer(q) && pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            Long categoryId = null;
+            if (dept != null) {
+                Optional<Category> c = categories.findByName(dept);
+                if (c.isEmpty()) return Page.empty(pageable);
+                categoryId = c.get().getId();
+            }
+            return hydrate(searchIndex.search(q, categoryId), pageable);
+        }
+
+        if (dept != null) {
+            return products.searchByCategoryName(dept, q, pageable).map(this::toListResponse);
+        }
+        return products.searchProducts(q, pageable).map(this::toListResponse);
+    }
+
+    /** Type-ahead over name and SKU, ranked by units sold; department-scoped like {@link #search}. */
+    @Transactional(readOnly = true)
+    public List<AutocompleteResponse> autocomplete(String q, int limit) {
+        String dept = searchDepartment();
+        Long categoryId = null;
+        if (dept != null) {
+            Optional<Category> c = categories.findByName(dept);
+            if (c.isEmpty()) return List.of();
+            categoryId = c.get().getId();
+        }
+        return autocomplete.complete(AutocompleteService.Type.PRODUCTS, q, categoryId, limit);
+    }
+
+    /** The department (category name) Inventory Staff and Sales Executives are limited to, else null. */
+    private String searchDepartment() {
         User user = securityUtils.getCurrentUser();
         String role = user.getRole().getName();
-
-        // 1. FILTER: Inventory Staff OR Sales Executive searches ONLY their Department
         if (role.equals("INVENTORY_STAFF") || role.equals("SALES_EXECUTIVE")) {
-            String dept = user.getDepartment();
-            if (dept != null && !dept.isEmpty()) {
-                return products.searchByCategoryName(dept, q, pageable).map(this::toResponse);
-            }
+            String d = user.getDepartment();
+            if (d != null && !d.isEmpty()) return d;
         }
+        return null;
+    }
 
-        // 2. Admin searches ALL
-        return products.searchProducts(q, pageable).map(this::toResponse);
+    /**
+     * Loads one page of index hits with IN queries, keeping the index's id order.
+     * Hits that turn out missing or inactive (changed without an event) are
+     * evicted and replaced by the next ones, so the page stays full and the
+     * total does not count them. Stale ids before the page are not checked.
+     */
+    private Page<ProductResponse> hydrate(long[] ids, Pageable pageable) {
+        int next = (int) Math.min(pageable.getOffset(), ids.length);
+        int evicted = 0;
+        List<ProductResponse> content = new ArrayList<>(pageable.getPageSize());
+        while (content.size() < pageable.getPageSize() && next < ids.length) {
+            int to = Math.min(next + pageable.getPageSize() - content.size(), ids.length);
+            List<Long> batch = Arrays.stream(ids, next, to).boxed().toList();
+            next = to;
+
+            Map<Long, ProductRepository.ListView> byId = products.findActiveListByIds(batch).stream()
+                    .collect(Collectors.toMap(ProductRepository.ListView::getId, p -> p));
+            if (byId.size() < batch.size()) {
+                List<Long> stale = batch.stream().filter(id -> !byId.containsKey(id)).toList();
+                searchIndex.evict(stale);
+                evicted += stale.size();
+            }
+            batch.stream().map(byId::get).filter(Objects::nonNull).map(this::toListResponse).forEach(content::add);
+        }
+        return new PageImpl<>(content, pageable, ids.length - evicted);
     }
 
     @Transactional(readOnly = true)
@@ -113,6 +196,7 @@ public class ProductService {
         p.getProductSuppliers().addAll(buildSupplierLinks(p, req.getSupplierIds()));
 
         p = products.save(p);
+        events.publishEvent(new ProductChangedEvent(p.getId()));
         return toResponse(p);
     }
 
@@ -154,6 +238,7 @@ public class ProductService {
         p.getProductSuppliers().addAll(buildSupplierLinks(p, req.getSupplierIds()));
 
         p = products.save(p);
+        events.publishEvent(new ProductChangedEvent(p.getId()));
         return toResponse(p);
     }
 
@@ -163,6 +248,7 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
         p.setIsActive(false);
         products.save(p);
+        events.publishEvent(new ProductChangedEvent(p.getId()));
     }
 
     private Set<ProductSupplier> buildSupplierLinks(Product product, Set<Long> supplierIds) {
@@ -183,6 +269,46 @@ public class ProductService {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * List rows carry no supplier links ({@code suppliers} is null); the detail
+     * endpoint returns them. The derived flags come from a transient entity so
+     * they stay defined in one place.
+     */
+    private ProductResponse toListResponse(ProductRepository.ListView v) {
+        Product p = Product.builder()
+                .costPrice(v.getCostPrice())
+                .quantityOnHand(v.getQuantityOnHand())
+                .reorderPoint(v.getReorderPoint())
+                .expiryDate(v.getExpiryDate())
+                .build();
+
+        return ProductResponse.builder()
+                .id(v.getId())
+                .sku(v.getSku())
+                .name(v.getName())
+                .description(v.getDescription())
+                .categoryId(v.getCategoryId())
+                .categoryName(v.getCategoryName())
+                .unitPrice(v.getUnitPrice())
+                .costPrice(v.getCostPrice())
+                .quantityOnHand(v.getQuantityOnHand())
+                .reorderPoint(v.getReorderPoint())
+                .reorderQuantity(v.getReorderQuantity())
+                .autoReorderEnabled(v.getAutoReorderEnabled())
+                .expiryDate(v.getExpiryDate())
+                .isExpired(p.isExpired())
+                .unitOfMeasure(v.getUnitOfMeasure())
+                .location(v.getLocation())
+                .barcode(v.getBarcode())
+                .imageUrl(v.getImageUrl())
+                .isActive(v.getIsActive())
+                .isLowStock(p.isLowStock())
+                .totalValue(p.getTotalValue())
+                .createdAt(v.getCreatedAt())
+                .updatedAt(v.getUpdatedAt())
+                .build();
+    }
+
     private ProductResponse toResponse(Product p) {
         List<ProductResponse.SupplierInfo> supplierInfos =
                 p.getProductSuppliers().stream()
@@ -3,6 +3,7 @@ package com.inventory.service;
 import com.inventory.dto.request.ProfileUpdateRequest;
 import com.inventory.entity.User;
 import com.inventory.exception.BadRequestException;
+import com.inventory.exception.UnauthorizedException;
 import com.inventory.repository.UserRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
@@ -18,13 +19,16 @@ public class ProfileService {
 
     @Transactional
     public User update(ProfileUpdateRequest req) {
-        User me = securityUtils.getCurrentUser();
+        // Reload: the current user from SecurityUtils may be a shared cached copy
+        User me = users.findById(securityUtils.getCurrentUser().getId())
+                .orElseThrow(() -> new UnauthorizedException("User not found"));
 
         // Check if email is being changed and if it is already taken
         if (!me.getEmail().equals(req.getEmail()) && users.existsByEmail(req.getEmail())) {
             throw new BadRequestException("Email already exists");
         }
 
+        securityUtils.evict(me.getEmail());
         me.setFirstName(req.getFirstName());
         me.setLastName(req.getLastName());
         me.setPhone(req.getPhone());
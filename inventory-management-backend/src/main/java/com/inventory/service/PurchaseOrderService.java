@@ -2,7 +2,10 @@ package com.inventory.service;
 
 import com.inventory.dto.request.PurchaseOrderReceiveItemRequest;
 import com.inventory.dto.request.PurchaseOrderRequest;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.PurchaseOrderSummary;
 import com.inventory.entity.*;
+import com.inventory.event.StockChangedEvent;
 import com.inventory.exception.BadRequestException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.ProductRepository;
@@ -10,6 +13,7 @@ import com.inventory.repository.PurchaseOrderRepository;
 import com.inventory.repository.SupplierRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,8 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +37,21 @@ public class PurchaseOrderService {
     private final SupplierRepository suppliers;
     private final ProductRepository products;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher events;
 
     @Transactional(readOnly = true)
-    public Page<PurchaseOrder> list(Pageable pageable) {
-        return purchaseOrders.findAll(pageable);
+    public Page<PurchaseOrderSummary> list(Pageable pageable) {
+        return purchaseOrders.findSummaries(pageable);
+    }
+
+    /** Keyset-paged {@link #list}, newest first: each page costs the same however deep it is. */
+    @Transactional(readOnly = true)
+    public CursorPage<PurchaseOrderSummary> listAfter(String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.newestFirst(cursor);
+        int pageSize = SeekCursor.pageSize(size);
+        List<PurchaseOrderSummary> rows = purchaseOrders.findSummariesBefore(after.at(), after.id(), SeekCursor.limit(pageSize));
+        return CursorPage.of(rows, pageSize, o -> SeekCursor.encode(o.getOrderDate(), o.getId()),
+                includeTotal ? purchaseOrders.count() : null);
     }
 
     @Transactional(readOnly = true)
@@ -52,6 +72,15 @@ public class PurchaseOrderService {
 
     @Transactional
     public PurchaseOrder create(PurchaseOrderRequest req) {
+        return create(req, PurchaseOrder.PurchaseOrderStatus.DRAFT);
+    }
+
+    /**
+     * Creates a PO directly in the given status, e.g. ORDERED for orders the
+     * reorder bot places without a review step.
+     */
+    @Transactional
+    public PurchaseOrder create(PurchaseOrderRequest req, PurchaseOrder.PurchaseOrderStatus initialStatus) {
         User me = securityUtils.getCurrentUser();
 
         Supplier supplier = suppliers.findById(req.getSupplierId())
@@ -62,18 +91,29 @@ public class PurchaseOrderService {
                 .supplier(supplier)
                 .orderDate(LocalDateTime.now())
                 .expectedDate(req.getExpectedDate())
-                .status(PurchaseOrder.PurchaseOrderStatus.DRAFT)
+                .status(initialStatus)
                 .taxAmount(nvl(req.getTaxAmount()))
                 .shippingCost(nvl(req.getShippingCost()))
                 .notes(req.getNotes())
                 .createdBy(me)
                 .build();
 
+        if (initialStatus != PurchaseOrder.PurchaseOrderStatus.DRAFT) {
+            po.setUpdatedBy(me);
+        }
+
+        Map<Long, Product> byId = products.findAllById(
+                        req.getItems().stream().map(PurchaseOrderRequest.Item::getProductId).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (PurchaseOrderRequest.Item it : req.getItems()) {
-            Product product = products.findById(it.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + it.getProductId()));
+            Product product = byId.get(it.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + it.getProductId());
+            }
 
             PurchaseOrderItem item = PurchaseOrderItem.builder()
                     .purchaseOrder(po)
@@ -126,6 +166,7 @@ public class PurchaseOrderService {
             throw new BadRequestException("PO must be ORDERED or PARTIALLY_RECEIVED to receive items");
         }
 
+        Set<Long> receivedProductIds = new HashSet<>();
         for (PurchaseOrderReceiveItemRequest ri : items) {
             PurchaseOrderItem line = po.getItems().stream()
                     .filter(x -> x.getId().equals(ri.getItemId()))
@@ -143,6 +184,7 @@ public class PurchaseOrderService {
 
             line.setQuantityReceived(newReceived);
             products.increaseStock(line.getProduct().getId(), ri.getQuantity());
+            receivedProductIds.add(line.getProduct().getId());
         }
 
         boolean allReceived = po.getItems().stream().allMatch(li -> li.getQuantityReceived().equals(li.getQuantityOrdered()));
@@ -152,6 +194,7 @@ public class PurchaseOrderService {
         }
 
         po.setUpdatedBy(securityUtils.getCurrentUser());
+        events.publishEvent(new StockChangedEvent(receivedProductIds));
         return purchaseOrders.save(po);
     }
 
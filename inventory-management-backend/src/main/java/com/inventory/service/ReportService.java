@@ -1,14 +1,15 @@
 package com.inventory.service;
 
 import com.inventory.entity.Product;
-import com.inventory.entity.SalesOrder;
 import com.inventory.entity.User;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SalesOrderRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,20 +23,45 @@ public class ReportService {
     private final ProductRepository products;
     private final SalesOrderRepository salesOrders;
     private final SecurityUtils securityUtils; // Added
-
-    @Transactional(readOnly = true)
+    private final RequestCoalescer coalescer;
+    @Qualifier("readOnlyTransactionTemplate")
+    private final TransactionTemplate readOnlyTx;
+
+    /**
+     * Inventory and low-stock reports are identical for everyone in the same
+     * department scope, so concurrent requests share one computation.
+     */
     public InventoryReport inventoryReport() {
-        User user = securityUtils.getCurrentUser();
+        String dept = departmentScope(securityUtils.getCurrentUser());
+        return coalescer.execute("report.inventory", scopeKey(dept),
+                () -> readOnlyTx.execute(status -> buildInventoryReport(dept)));
+    }
+
+    public LowStockReport lowStockReport() {
+        String dept = departmentScope(securityUtils.getCurrentUser());
+        return coalescer.execute("report.low-stock", scopeKey(dept),
+                () -> readOnlyTx.execute(status -> buildLowStockReport(dept)));
+    }
+
+    private static String departmentScope(User user) {
+        return user.getRole().getName().equals("INVENTORY_STAFF") ? user.getDepartment() : null;
+    }
+
+    private static String scopeKey(String dept) {
+        return dept == null ? "ALL" : "dept:" + dept;
+    }
+
+    private InventoryReport buildInventoryReport(String dept) {
         List<Product> list;
 
         // FILTER: If Inventory Staff, show only their department's products
-        if (user.getRole().getName().equals("INVENTORY_STAFF") && user.getDepartment() != null) {
+        if (dept != null) {
             // We use the existing repo method (paginated), but here we want all. 
             // Better to add a non-paginated list method or just fetch all and filter in stream (if list is small)
             // Or add findByCategoryNameList to repo.
             // Let's filter in stream for simplicity unless dataset is huge.
             list = products.findByIsActiveTrue().stream()
-                    .filter(p -> p.getCategory() != null && p.getCategory().getName().equals(user.getDepartment()))
+                    .filter(p -> p.getCategory() != null && p.getCategory().getName().equals(dept))
                     .collect(Collectors.toList());
         } else {
             list = products.findByIsActiveTrue();
@@ -73,15 +99,13 @@ public class ReportService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
-    public LowStockReport lowStockReport() {
-        User user = securityUtils.getCurrentUser();
+    private LowStockReport buildLowStockReport(String dept) {
         List<Product> low;
 
         // FILTER: If Inventory Staff, show only their department's low stock
-        if (user.getRole().getName().equals("INVENTORY_STAFF") && user.getDepartment() != null) {
+        if (dept != null) {
              low = products.findLowStockProducts().stream()
-                    .filter(p -> p.getCategory() != null && p.getCategory().getName().equals(user.getDepartment()))
+                    .filter(p -> p.getCategory() != null && p.getCategory().getName().equals(dept))
                     .collect(Collectors.toList());
         } else {
              low = products.findLowStockProducts();
@@ -107,56 +131,25 @@ public class ReportService {
                 .build();
     }
 
+    /**
+     * Aggregated in the database: only one row per day comes back. Inventory
+     * staff see orders that contain at least one product from their department.
+     */
     @Transactional(readOnly = true)
     public SalesReport salesReport(LocalDateTime start, LocalDateTime end, Long productId) {
-        // Sales report is usually global or filtered by product. 
-        // If staff needs to see only THEIR department sales, we filter by order creator's department.
-        
         User user = securityUtils.getCurrentUser();
-        List<SalesOrder> orders = salesOrders.findByOrderDateBetween(start, end);
-
-        if (user.getRole().getName().equals("INVENTORY_STAFF") && user.getDepartment() != null) {
-            orders = orders.stream()
-                    .filter(o -> {
-                        // Check if order creator belongs to this staff's department 
-                        // OR if the products in the order belong to this department
-                        // Usually easier to check Product Category
-                        return o.getItems().stream().anyMatch(i -> 
-                            i.getProduct().getCategory() != null && 
-                            i.getProduct().getCategory().getName().equals(user.getDepartment()));
-                    })
-                    .collect(Collectors.toList());
-        }
+        String dept = departmentScope(user);
 
-        if (productId != null) {
-            orders = orders.stream()
-                    .filter(o -> o.getItems().stream().anyMatch(i -> i.getProduct().getId().equals(productId)))
-                    .toList();
-        }
-
-        List<SalesOrder> nonCancelled = orders.stream()
-                .filter(o -> o.getStatus() != SalesOrder.OrderStatus.CANCELLED)
+        List<DailySales> daily = salesOrders.findDailySalesSummary(start, end, dept, productId).stream()
+                .map(r -> new DailySales(r[0].toString(), ((Number) r[1]).intValue(), (BigDecimal) r[2]))
                 .toList();
 
-        BigDecimal totalRevenue = nonCancelled.stream()
-                .map(SalesOrder::getTotalAmount)
-                .filter(Objects::nonNull)
+        int totalOrders = daily.stream().mapToInt(DailySales::getOrderCount).sum();
+        BigDecimal totalRevenue = daily.stream()
+                .map(DailySales::getRevenue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalOrders = nonCancelled.size();
-
-        int totalItemsSold = nonCancelled.stream()
-                .flatMap(o -> o.getItems().stream())
-                .mapToInt(i -> i.getQuantity() == null ? 0 : i.getQuantity())
-                .sum();
-
-        Map<String, DailySales> byDay = new LinkedHashMap<>();
-        nonCancelled.forEach(o -> {
-            String day = o.getOrderDate() != null ? o.getOrderDate().toLocalDate().toString() : "unknown";
-            DailySales ds = byDay.computeIfAbsent(day, k -> new DailySales(day, 0, BigDecimal.ZERO));
-            ds.setOrderCount(ds.getOrderCount() + 1);
-            ds.setRevenue(ds.getRevenue().add(o.getTotalAmount() == null ? BigDecimal.ZERO : o.getTotalAmount()));
-        });
+        int totalItemsSold = totalOrders == 0 ? 0
+                : (int) salesOrders.sumItemsSold(start, end, dept, productId);
 
         return SalesReport.builder()
                 .generatedAt(LocalDateTime.now())
@@ -165,7 +158,7 @@ public class ReportService {
                 .totalOrders(totalOrders)
                 .totalRevenue(totalRevenue)
                 .totalItemsSold(totalItemsSold)
-                .dailySales(new ArrayList<>(byDay.values()))
+                .dailySales(new ArrayList<>(daily))
                 .build();
     }
 
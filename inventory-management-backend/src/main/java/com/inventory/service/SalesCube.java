@@ -0,0 +1,465 @@
+package com.inventory.service;
+
+import com.inventory.entity.SalesOrder.OrderStatus;
+import com.inventory.event.SalesOrderChangedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.SalesOrderRepository;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory column store of sales order lines for ad-hoc slicing by time,
+ * department, category, product and status without touching the database.
+ * <p>
+ * Each line is one row across primitive columns: epoch day, dictionary ids for
+ * department / category / product (SKU), status ordinal, quantity and line
+ * total in cents. Queries scan the columns in parallel chunks and group on a
+ * mixed-radix key built from the requested dimensions.
+ * <p>
+ * The store is loaded after startup and rebuilt nightly. In between, every
+ * {@link SalesOrderChangedEvent} queues the order, and a scheduled batch
+ * replaces the queued orders' rows: the old rows are tombstoned and the
+ * current ones appended. Writers are serialized; readers work on an immutable
+ * {@link View} of the columns and never block. Product renames and category
+ * moves show up after the next rebuild.
+ */
+@Service
+@Slf4j
+public class SalesCube {
+
+    public enum Dimension { TIME, DEPARTMENT, CATEGORY, PRODUCT, STATUS }
+
+    public enum Grain { DAY, WEEK, MONTH }
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final byte DEAD = -1;
+    private static final int ANY = -1;       // filter ids
+    private static final int MISSING = -2;
+    private static final int MIN_CHUNK = 16 * 1024;
+    private static final int RELOAD_BATCH = 500;
+    private static final String NO_DEPARTMENT = "Unassigned";
+    private static final String NO_CATEGORY = "Uncategorized";
+
+    private final SalesOrderRepository salesOrders;
+    private final Executor taskExecutor;
+    private final TransactionTemplate tx;
+
+    private final Object writeLock = new Object();
+    private final Object loadLock = new Object();   // one rebuild or change batch at a time
+    private final Set<Long> changedOrders = ConcurrentHashMap.newKeySet();
+    private Store store = new Store();
+    private volatile View view = store.view();
+    private volatile LocalDateTime loadedAt;
+
+    public SalesCube(SalesOrderRepository salesOrders,
+                     @Qualifier("taskExecutor") Executor taskExecutor,
+                     PlatformTransactionManager txManager) {
+        this.salesOrders = salesOrders;
+        this.taskExecutor = taskExecutor;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(cron = "0 45 2 * * *") // daily at 02:45, also drops tombstoned rows
+    public void rebuild() {
+        synchronized (loadLock) {
+            long started = System.currentTimeMillis();
+            Store fresh = new Store();
+            tx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = salesOrders.streamCubeRows()) {
+                    rows.forEach(fresh::append);
+                }
+            });
+
+            synchronized (writeLock) {
+                store = fresh;
+                view = store.view();
+                loadedAt = LocalDateTime.now();
+            }
+            log.info("Sales cube loaded: {} lines in {} ms", fresh.size, System.currentTimeMillis() - started);
+        }
+    }
+
+    /** Runs after the order's transaction commits, on the committing thread, so it only queues the id. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesOrderChanged(SalesOrderChangedEvent event) {
+        changedOrders.add(event.getOrderId());
+    }
+
+    /**
+     * Replaces the rows of the orders changed since the last run, reading them
+     * in batches. Serialized with {@link #rebuild()}: a change that commits
+     * while a rebuild is reading stays queued and is applied to the new store
+     * afterwards. If the read fails, the ids go back on the queue.
+     */
+    @Scheduled(fixedDelayString = "${app.sales-cube.refresh-ms:1000}")
+    public void applyChangedOrders() {
+        if (changedOrders.isEmpty()) return;
+        synchronized (loadLock) {
+            List<Long> ids = new ArrayList<>(changedOrders);
+            changedOrders.removeAll(ids);
+            List<Object[]> rows = new ArrayList<>();
+            try {
+                tx.executeWithoutResult(status -> {
+                    for (int i = 0; i < ids.size(); i += RELOAD_BATCH) {
+                        rows.addAll(salesOrders.findCubeRowsByOrderIds(ids.subList(i, Math.min(ids.size(), i + RELOAD_BATCH))));
+                    }
+                });
+            } catch (RuntimeException e) {
+                changedOrders.addAll(ids);
+                throw e;
+            }
+
+            synchronized (writeLock) {
+                store.removeAll(ids);
+                rows.forEach(store::append);
+                view = store.view();
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------------
+
+    public CubeResult query(CubeQuery q) {
+        long started = System.nanoTime();
+        View v = view;
+        List<Dimension> dims = q.getGroupBy() == null ? List.of() : List.copyOf(new LinkedHashSet<>(q.getGroupBy()));
+        Grain grain = q.getGrain() == null ? Grain.DAY : q.getGrain();
+
+        int fromDay = q.getFrom() == null ? v.minDay : (int) Math.max(v.minDay, q.getFrom().toEpochDay());
+        int toDay = q.getTo() == null ? v.maxDay : (int) Math.min(v.maxDay, q.getTo().toEpochDay());
+
+        int dept = filterId(v.departments, q.getDepartment());
+        int category = filterId(v.categories, q.getCategory());
+        int product = filterId(v.products, q.getSku());
+
+        boolean[] statusOk = new boolean[STATUSES.length];
+        if (q.getStatuses() == null || q.getStatuses().isEmpty()) {
+            Arrays.fill(statusOk, true);
+            statusOk[OrderStatus.CANCELLED.ordinal()] = false;
+        } else {
+            q.getStatuses().forEach(s -> statusOk[s.ordinal()] = true);
+        }
+
+        List<CubeRow> rows = new ArrayList<>();
+        if (v.size > 0 && fromDay <= toDay && dept != MISSING && category != MISSING && product != MISSING) {
+            Buckets buckets = new Buckets(fromDay, toDay, grain);
+            long[] radix = new long[dims.size()];
+            long keySpace = 1;
+            for (int k = 0; k < radix.length; k++) {
+                radix[k] = Math.max(1, switch (dims.get(k)) {
+                    case TIME -> buckets.labels.size();
+                    case DEPARTMENT -> v.departments.length;
+                    case CATEGORY -> v.categories.length;
+                    case PRODUCT -> v.products.length;
+                    case STATUS -> STATUSES.length;
+                });
+                try {
+                    keySpace = Math.multiplyExact(keySpace, radix[k]);
+                } catch (ArithmeticException e) {
+                    throw new BadRequestException("Too many group-by combinations; add filters or drop a dimension");
+                }
+            }
+
+            Scan scan = new Scan(v, dims.toArray(new Dimension[0]), radix, buckets, fromDay, toDay,
+                    dept, category, product, statusOk);
+            int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), v.size / MIN_CHUNK));
+            Map<Long, long[]> totals = IntStream.range(0, chunks).parallel()
+                    .mapToObj(c -> scan.run((int) ((long) c * v.size / chunks), (int) ((long) (c + 1) * v.size / chunks)))
+                    .reduce(SalesCube::merge)
+                    .orElseGet(HashMap::new);
+
+            new TreeMap<>(totals).forEach((key, acc) -> rows.add(CubeRow.builder()
+                    .key(decode(key, dims, radix, v, buckets))
+                    .lines(acc[0])
+                    .quantity(acc[1])
+                    .revenue(BigDecimal.valueOf(acc[2], 2))
+                    .build()));
+        }
+
+        return CubeResult.builder()
+                .groupBy(dims)
+                .grain(grain)
+                .rowsScanned(v.size)
+                .loadedAt(loadedAt)
+                .tookMicros((System.nanoTime() - started) / 1_000)
+                .rows(rows)
+                .build();
+    }
+
+    private static int filterId(String[] dictionary, String value) {
+        if (value == null || value.isBlank()) return ANY;
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equalsIgnoreCase(value.trim())) return i;
+        }
+        return MISSING;
+    }
+
+    private static Map<Long, long[]> merge(Map<Long, long[]> a, Map<Long, long[]> b) {
+        b.forEach((key, acc) -> a.merge(key, acc, (x, y) -> {
+            for (int i = 0; i < x.length; i++) x[i] += y[i];
+            return x;
+        }));
+        return a;
+    }
+
+    private static List<String> decode(long key, List<Dimension> dims, long[] radix, View v, Buckets buckets) {
+        String[] labels = new String[dims.size()];
+        for (int k = dims.size() - 1; k >= 0; k--) {
+            int id = (int) (key % radix[k]);
+            key /= radix[k];
+            labels[k] = switch (dims.get(k)) {
+                case TIME -> buckets.labels.get(id);
+                case DEPARTMENT -> v.departments[id];
+                case CATEGORY -> v.categories[id];
+                case PRODUCT -> v.products[id];
+                case STATUS -> STATUSES[id].name();
+            };
+        }
+        return Arrays.asList(labels);
+    }
+
+    public static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown " + type.getSimpleName().toLowerCase() + ": " + value
+                    + " (expected one of " + Arrays.toString(type.getEnumConstants()) + ")");
+        }
+    }
+
+    /** Maps each day in the query range to a dense bucket index for the requested grain. */
+    private static final class Buckets {
+        final int[] ofDay;
+        final List<String> labels = new ArrayList<>();
+
+        Buckets(int fromDay, int toDay, Grain grain) {
+            ofDay = new int[toDay - fromDay + 1];
+            LocalDate last = null;
+            for (int d = fromDay; d <= toDay; d++) {
+                LocalDate date = LocalDate.ofEpochDay(d);
+                LocalDate start = switch (grain) {
+                    case DAY -> date;
+                    case WEEK -> date.with(DayOfWeek.MONDAY);
+                    case MONTH -> date.withDayOfMonth(1);
+                };
+                if (!start.equals(last)) {
+                    labels.add(grain == Grain.MONTH ? start.toString().substring(0, 7) : start.toString());
+                    last = start;
+                }
+                ofDay[d - fromDay] = labels.size() - 1;
+            }
+        }
+    }
+
+    private record Scan(View v, Dimension[] dims, long[] radix, Buckets buckets, int fromDay, int toDay,
+                        int dept, int category, int product, boolean[] statusOk) {
+
+        Map<Long, long[]> run(int from, int to) {
+            Map<Long, long[]> totals = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                int st = v.status[i];
+                if (st < 0 || !statusOk[st]) continue;
+                int day = v.day[i];
+                if (day < fromDay || day > toDay) continue;
+                if (dept != ANY && v.department[i] != dept) continue;
+                if (category != ANY && v.category[i] != category) continue;
+                if (product != ANY && v.product[i] != product) continue;
+
+                long key = 0;
+                for (int k = 0; k < dims.length; k++) {
+                    int id = switch (dims[k]) {
+                        case TIME -> buckets.ofDay[day - fromDay];
+                        case DEPARTMENT -> v.department[i];
+                        case CATEGORY -> v.category[i];
+                        case PRODUCT -> v.product[i];
+                        case STATUS -> st;
+                    };
+                    key = key * radix[k] + id;
+                }
+
+                long[] acc = totals.computeIfAbsent(key, x -> new long[3]);
+                acc[0]++;
+                acc[1] += v.quantity[i];
+                acc[2] += v.cents[i];
+            }
+            return totals;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Storage
+    // ---------------------------------------------------------------------
+
+    /**
+     * Published snapshot. Arrays are shared with the {@link Store}: rows below
+     * {@code size} are never rewritten, and tombstoning writes to a fresh copy
+     * of the status column.
+     */
+    private record View(int size, int minDay, int maxDay,
+                        long[] order, int[] day, int[] department, int[] category, int[] product,
+                        byte[] status, int[] quantity, long[] cents,
+                        String[] departments, String[] categories, String[] products) {
+    }
+
+    /** Writer-side columns; only touched under writeLock (or before publication). */
+    private static final class Store {
+        int size;
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        long[] order = new long[1024];
+        int[] day = new int[1024];
+        int[] department = new int[1024];
+        int[] category = new int[1024];
+        int[] product = new int[1024];
+        byte[] status = new byte[1024];
+        int[] quantity = new int[1024];
+        long[] cents = new long[1024];
+        final Dictionary departments = new Dictionary();
+        final Dictionary categories = new Dictionary();
+        final Dictionary products = new Dictionary();
+        // first and last row of each order's live lines; an order's lines arrive close together
+        final Map<Long, int[]> liveRows = new HashMap<>();
+
+        /** Row layout matches {@link SalesOrderRepository#streamCubeRows()}. */
+        void append(Object[] r) {
+            if (size == order.length) grow();
+            int d = (int) ((LocalDateTime) r[1]).toLocalDate().toEpochDay();
+            Long orderId = (Long) r[0];
+            int[] range = liveRows.get(orderId);
+            if (range == null) liveRows.put(orderId, new int[]{size, size});
+            else range[1] = size;
+            order[size] = orderId;
+            day[size] = d;
+            status[size] = (byte) ((OrderStatus) r[2]).ordinal();
+            department[size] = departments.id(r[3] != null ? (String) r[3] : NO_DEPARTMENT);
+            product[size] = products.id((String) r[4]);
+            category[size] = categories.id(r[5] != null ? (String) r[5] : NO_CATEGORY);
+            quantity[size] = r[6] == null ? 0 : (Integer) r[6];
+            cents[size] = r[7] == null ? 0
+                    : ((BigDecimal) r[7]).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            minDay = Math.min(minDay, d);
+            maxDay = Math.max(maxDay, d);
+            size++;
+        }
+
+        /**
+         * Tombstones the live rows of the given orders; orders that have none,
+         * such as new ones, are skipped. The status column is copied first,
+         * since the published view still reads it: until the next view is
+         * published, readers keep seeing the old rows rather than none.
+         */
+        void removeAll(Collection<Long> orderIds) {
+            boolean copied = false;
+            for (Long orderId : orderIds) {
+                int[] range = liveRows.remove(orderId);
+                if (range == null) continue;
+                if (!copied) {
+                    status = status.clone();
+                    copied = true;
+                }
+                for (int i = range[0]; i <= range[1]; i++) {
+                    if (order[i] == orderId) status[i] = DEAD;
+                }
+            }
+        }
+
+        void grow() {
+            int cap = order.length * 2;
+            order = Arrays.copyOf(order, cap);
+            day = Arrays.copyOf(day, cap);
+            department = Arrays.copyOf(department, cap);
+            category = Arrays.copyOf(category, cap);
+            product = Arrays.copyOf(product, cap);
+            status = Arrays.copyOf(status, cap);
+            quantity = Arrays.copyOf(quantity, cap);
+            cents = Arrays.copyOf(cents, cap);
+        }
+
+        View view() {
+            return new View(size, minDay, maxDay, order, day, department, category, product, status, quantity, cents,
+                    departments.values(), categories.values(), products.values());
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private String[] snapshot = new String[0];
+
+        int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        String[] values() {
+            if (snapshot.length != values.size()) snapshot = values.toArray(new String[0]);
+            return snapshot;
+        }
+    }
+
+    // ===== DTOs =====
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class CubeQuery {
+        private List<Dimension> groupBy;
+        private Grain grain;
+        private LocalDate from;
+        private LocalDate to;
+        private String department;
+        private String category;
+        private String sku;
+        private Set<OrderStatus> statuses;   // empty = everything except CANCELLED
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class CubeResult {
+        private List<Dimension> groupBy;
+        private Grain grain;
+        private long rowsScanned;
+        private long tookMicros;
+        private LocalDateTime loadedAt;
+        private List<CubeRow> rows;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class CubeRow {
+        private List<String> key;
+        private long lines;
+        private long quantity;
+        private BigDecimal revenue;
+    }
+}
@@ -1,7 +1,11 @@
 package com.inventory.service;
 
 import com.inventory.dto.request.SalesOrderRequest;
+import com.inventory.dto.response.CursorPage;
+import com.inventory.dto.response.SalesOrderSummary;
 import com.inventory.entity.*;
+import com.inventory.event.SalesOrderChangedEvent;
+import com.inventory.event.StockChangedEvent;
 import com.inventory.exception.BadRequestException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.CustomerRepository;
@@ -9,6 +13,7 @@ import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SalesOrderRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,7 +21,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,10 +37,22 @@ public class SalesOrderService {
     private final CustomerRepository customers;
     private final SecurityUtils securityUtils;
     private final NotificationService notificationService;
+    private final SalesRollupService salesRollup;
+    private final ApplicationEventPublisher events;
 
     @Transactional(readOnly = true)
-    public Page<SalesOrder> list(Pageable pageable) {
-        return salesOrders.findAll(pageable);
+    public Page<SalesOrderSummary> list(Pageable pageable) {
+        return salesOrders.findSummaries(pageable);
+    }
+
+    /** Keyset-paged {@link #list}, newest first: each page costs the same however deep it is. */
+    @Transactional(readOnly = true)
+    public CursorPage<SalesOrderSummary> listAfter(String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.newestFirst(cursor);
+        int pageSize = SeekCursor.pageSize(size);
+        List<SalesOrderSummary> rows = salesOrders.findSummariesBefore(after.at(), after.id(), SeekCursor.limit(pageSize));
+        return CursorPage.of(rows, pageSize, o -> SeekCursor.encode(o.getOrderDate(), o.getId()),
+                includeTotal ? salesOrders.count() : null);
     }
 
     @Transactional(readOnly = true)
@@ -65,11 +87,21 @@ public class SalesOrderService {
             order.setCustomer(c);
         }
 
+        // Load and lock every referenced product in one statement
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (SalesOrderRequest.Item it : req.getItems()) {
+            quantities.merge(it.getProductId(), it.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> byId = products.findAllByIdForUpdate(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (SalesOrderRequest.Item it : req.getItems()) {
-            Product product = products.findById(it.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + it.getProductId()));
+            Product product = byId.get(it.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + it.getProductId());
+            }
 
             // --- VALIDATION: EXPIRY CHECK ---
             if (product.isExpired()) {
@@ -79,8 +111,7 @@ public class SalesOrderService {
             }
             // --------------------------------
 
-            int updated = products.decreaseStock(product.getId(), it.getQuantity());
-            if (updated == 0) {
+            if (onHand(product) < quantities.get(product.getId())) {
                 throw new BadRequestException("Insufficient stock for SKU " + product.getSku());
             }
 
@@ -99,23 +130,31 @@ public class SalesOrderService {
             subtotal = subtotal.add(item.getLineTotal());
 
             order.getItems().add(item);
+        }
 
-            Product refreshed = products.findById(product.getId()).orElse(product);
-            if (refreshed.isLowStock()) {
-                notificationService.lowStock(
-                        refreshed.getId(),
-                        refreshed.getSku(),
-                        refreshed.getName(),
-                        refreshed.getQuantityOnHand(),
-                        refreshed.getReorderPoint() == null ? 0 : refreshed.getReorderPoint()
-                );
-            }
+        List<Long> failed = products.decreaseStockBatch(quantities);
+        if (!failed.isEmpty()) {
+            throw new BadRequestException("Insufficient stock for SKU " + byId.get(failed.get(0)).getSku());
         }
 
+        // Rows are locked, so the post-order quantity is known without re-reading
+        quantities.forEach((productId, qty) -> {
+            Product p = byId.get(productId);
+            int remaining = onHand(p) - qty;
+            int reorderPoint = p.getReorderPoint() == null ? 0 : p.getReorderPoint();
+            if (remaining <= reorderPoint) {
+                notificationService.lowStock(p.getId(), p.getSku(), p.getName(), remaining, reorderPoint);
+            }
+        });
+
         order.setSubtotal(subtotal);
         order.setTotalAmount(subtotal.add(order.getTaxAmount()).subtract(order.getDiscountAmount()));
 
-        return salesOrders.save(order);
+        SalesOrder saved = salesOrders.save(order);
+        salesRollup.recordOrder(saved);
+        events.publishEvent(new StockChangedEvent(productIds(saved)));
+        events.publishEvent(new SalesOrderChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -134,12 +173,24 @@ public class SalesOrderService {
             for (SalesOrderItem item : order.getItems()) {
                 products.increaseStock(item.getProduct().getId(), item.getQuantity());
             }
+            salesRollup.recordCancellation(order);
+            events.publishEvent(new StockChangedEvent(productIds(order)));
         }
 
         User me = securityUtils.getCurrentUser();
         order.setStatus(status);
         order.setUpdatedBy(me);
-        return salesOrders.save(order);
+        SalesOrder saved = salesOrders.save(order);
+        events.publishEvent(new SalesOrderChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    private static List<Long> productIds(SalesOrder order) {
+        return order.getItems().stream().map(i -> i.getProduct().getId()).distinct().toList();
+    }
+
+    private static int onHand(Product p) {
+        return p.getQuantityOnHand() == null ? 0 : p.getQuantityOnHand();
     }
 
     private static BigDecimal nvl(BigDecimal v) {
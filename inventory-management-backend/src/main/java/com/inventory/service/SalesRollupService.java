@@ -0,0 +1,68 @@
+package com.inventory.service;
+
+import com.inventory.entity.SalesDailyRollup;
+import com.inventory.entity.SalesOrder;
+import com.inventory.repository.SalesDailyRollupRepository;
+import com.inventory.repository.SalesOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps sales_daily_rollup in step with sales_orders. Order creation and
+ * cancellation apply deltas in the caller's transaction; the nightly rebuild
+ * recomputes everything from scratch to repair any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupService {
+
+    private final SalesDailyRollupRepository rollups;
+    private final SalesOrderRepository salesOrders;
+
+    @Transactional
+    public void recordOrder(SalesOrder order) {
+        apply(order, 1, nvl(order.getTotalAmount()));
+    }
+
+    @Transactional
+    public void recordCancellation(SalesOrder order) {
+        apply(order, -1, nvl(order.getTotalAmount()).negate());
+    }
+
+    @Scheduled(cron = "0 30 2 * * *") // daily at 02:30
+    @Transactional
+    public void rebuild() {
+        rollups.deleteAllRows();
+        int rows = rollups.insertFromSalesOrders();
+        log.info("Sales rollup rebuilt: {} day/department rows", rows);
+    }
+
+    /** Backfills the rollup on first start against an existing database. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (rollups.count() == 0 && salesOrders.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private void apply(SalesOrder order, long orders, BigDecimal revenue) {
+        if (order.getOrderDate() == null) return;
+        String dept = order.getCreatedBy() != null && order.getCreatedBy().getDepartment() != null
+                ? order.getCreatedBy().getDepartment()
+                : SalesDailyRollup.NO_DEPARTMENT;
+        rollups.increment(order.getOrderDate().toLocalDate(), dept, orders, revenue);
+    }
+
+    private static BigDecimal nvl(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+}
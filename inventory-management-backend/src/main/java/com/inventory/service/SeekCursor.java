@@ -0,0 +1,65 @@
+package com.inventory.service;
+
+import com.inventory.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row
+ * a client has seen. Clients get it as an opaque Base64url token and pass it
+ * back unchanged; repositories seek past it instead of using OFFSET, so every
+ * page costs the same however deep it is.
+ * <p>
+ * {@code at} is null for listings ordered by id alone.
+ */
+public record SeekCursor(LocalDateTime at, long id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // sorts after every real row, so the first newest-first page needs no separate query
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /** Cursor for a listing ordered by (timestamp, id) descending; null or blank starts at the newest row. */
+    public static SeekCursor newestFirst(String token) {
+        return isBlank(token) ? new SeekCursor(END_OF_TIME, Long.MAX_VALUE) : decode(token);
+    }
+
+    /** Cursor for a listing ordered by id ascending; null or blank starts at the first row. */
+    public static SeekCursor ascendingId(String token) {
+        return isBlank(token) ? new SeekCursor(null, 0) : decode(token);
+    }
+
+    public static String encode(LocalDateTime at, long id) {
+        String raw = (at == null ? "" : at.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Clamps the requested page size to 1..{@value #MAX_PAGE_SIZE}. */
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /** One row more than the page, so the caller can tell whether another page follows without counting. */
+    public static Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private static SeekCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int bar = raw.lastIndexOf('|');
+            String at = raw.substring(0, bar);
+            return new SeekCursor(at.isEmpty() ? null : LocalDateTime.parse(at), Long.parseLong(raw.substring(bar + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static boolean isBlank(String token) {
+        return token == null || token.isBlank();
+    }
+}
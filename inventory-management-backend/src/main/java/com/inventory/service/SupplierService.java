@@ -4,10 +4,12 @@ import com.inventory.dto.request.SupplierRequest;
 import com.inventory.dto.response.SupplierResponse;
 import com.inventory.entity.Supplier;
 import com.inventory.entity.User;
+import com.inventory.event.SupplierChangedEvent;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.SupplierRepository;
 import com.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,7 @@ public class SupplierService {
 
     private final SupplierRepository suppliers;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher events;
 
     @Transactional(readOnly = true)
     public Page<SupplierResponse> getAll(Pageable pageable) {
@@ -63,7 +66,9 @@ public class SupplierService {
                 .createdBy(me)
                 .build();
 
-        return toResponse(suppliers.save(s));
+        s = suppliers.save(s);
+        events.publishEvent(new SupplierChangedEvent(s.getId()));
+        return toResponse(s);
     }
 
     @Transactional
@@ -83,7 +88,9 @@ public class SupplierService {
         s.setWebsite(req.getWebsite());
         s.setNotes(req.getNotes());
 
-        return toResponse(suppliers.save(s));
+        s = suppliers.save(s);
+        events.publishEvent(new SupplierChangedEvent(s.getId()));
+        return toResponse(s);
     }
 
     @Transactional
@@ -92,6 +99,7 @@ public class SupplierService {
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found: " + id));
         s.setIsActive(false);
         suppliers.save(s);
+        events.publishEvent(new SupplierChangedEvent(s.getId()));
     }
 
     private SupplierResponse toResponse(Supplier s) {
@@ -0,0 +1,186 @@
+package com.inventory.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over product name and SKU.
+ * <p>
+ * Every document gets a dense int id in insertion order, so posting lists
+ * (one per trigram) are append-only and stay sorted. Replacing or removing a
+ * product tombstones its old document; the postings are compacted once half
+ * of the documents are dead. A query intersects the postings of its trigrams
+ * and confirms each candidate with {@code contains}, so the result is exactly
+ * what {@code LOWER(x) LIKE '%q%'} would return.
+ */
+final class TrigramIndex {
+
+    static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int COMPACT_MIN_DOCS = 1024;
+    private static final long[] NONE = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] productId = new long[256];
+    private String[] name = new String[256];
+    private String[] sku = new String[256];
+    private long[] categoryId = new long[256];    // 0 = no category
+    private final BitSet dead = new BitSet();
+    private int docs;
+    private int deadDocs;
+
+    private final Map<Long, Integer> docOf = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    void put(long id, String productName, String productSku, Long category) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            add(id, normalize(productName), normalize(productSku), category == null ? 0 : category);
+            if (deadDocs > COMPACT_MIN_DOCS && deadDocs * 2 > docs) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of products whose name or SKU contains {@code query}, ascending.
+     * A null {@code category} matches every product.
+     */
+    long[] search(String query, Long category) {
+        String q = normalize(query);
+        if (q.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Query shorter than " + MIN_QUERY_LENGTH + " characters");
+        }
+        long[] grams = trigrams(q);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) return NONE;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+            long[] out = new long[Math.min(lists[0].size, 64)];
+            int found = 0;
+            Postings driver = lists[0];
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                if (dead.get(doc)) continue;
+                if (category != null && categoryId[doc] != category) continue;
+                for (int k = 1; k < lists.length; k++) {
+                    if (Arrays.binarySearch(lists[k].docs, 0, lists[k].size, doc) < 0) continue candidates;
+                }
+                if (!name[doc].contains(q) && !sku[doc].contains(q)) continue;
+                if (found == out.length) out = Arrays.copyOf(out, Math.min(driver.size, out.length * 2));
+                out[found++] = productId[doc];
+            }
+
+            long[] ids = Arrays.copyOf(out, found);
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+
+    private void add(long id, String n, String s, long category) {
+        if (docs == productId.length) {
+            int cap = docs * 2;
+            productId = Arrays.copyOf(productId, cap);
+            name = Arrays.copyOf(name, cap);
+            sku = Arrays.copyOf(sku, cap);
+            categoryId = Arrays.copyOf(categoryId, cap);
+        }
+        int doc = docs++;
+        productId[doc] = id;
+        name[doc] = n;
+        sku[doc] = s;
+        categoryId[doc] = category;
+        docOf.put(id, doc);
+        for (long g : trigrams(n)) postings.computeIfAbsent(g, k -> new Postings()).add(doc);
+        for (long g : trigrams(s)) postings.computeIfAbsent(g, k -> new Postings()).add(doc);
+    }
+
+    private void removeLocked(long id) {
+        Integer doc = docOf.remove(id);
+        if (doc != null) {
+            dead.set(doc);
+            deadDocs++;
+        }
+    }
+
+    /** Re-adds the live documents so dead ones no longer occupy postings. */
+    private void compact() {
+        int n = docs;
+        long[] ids = productId;
+        String[] names = name;
+        String[] skus = sku;
+        long[] categories = categoryId;
+        BitSet wasDead = (BitSet) dead.clone();
+
+        docs = 0;
+        deadDocs = 0;
+        dead.clear();
+        docOf.clear();
+        postings.clear();
+        productId = new long[Math.max(256, n)];
+        name = new String[productId.length];
+        sku = new String[productId.length];
+        categoryId = new long[productId.length];
+        for (int doc = 0; doc < n; doc++) {
+            if (!wasDead.get(doc)) add(ids[doc], names[doc], skus[doc], categories[doc]);
+        }
+    }
+
+    static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+
+    /** Distinct trigrams, each packed into a long (three 16-bit chars). */
+    private static long[] trigrams(String s) {
+        if (s.length() < 3) return NONE;
+        long[] out = new long[s.length() - 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        return Arrays.stream(out).distinct().toArray();
+    }
+
+    /** Sorted doc ids; docs arrive in increasing order so appends keep it sorted. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) return; // same trigram in name and SKU
+            if (size == docs.length) docs = Arrays.copyOf(docs, size * 2);
+            docs[size++] = doc;
+        }
+    }
+}
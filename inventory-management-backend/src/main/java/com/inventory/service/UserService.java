@@ -84,6 +84,7 @@ public class UserService {
         if (!u.getEmail().equals(req.getEmail()) && users.existsByEmail(req.getEmail())) {
             throw new BadRequestException("Email already exists");
         }
+        securityUtils.evict(u.getEmail());
 
         Role role = roles.findById(req.getRoleId()).orElseThrow(() -> new BadRequestException("Invalid roleId"));
 
@@ -114,6 +115,7 @@ public class UserService {
         User u = users.findById(id).orElseThrow(() -> new ResourceNotFoundException("User not found: " + id));
         u.setIsActive(true);
         users.save(u);
+        securityUtils.evict(u.getEmail());
     }
 
     @Transactional
@@ -124,6 +126,7 @@ public class UserService {
         }
         u.setIsActive(false);
         users.save(u);
+        securityUtils.evict(u.getEmail());
     }
 
     @Transactional
@@ -137,6 +140,7 @@ public class UserService {
         // Virtual Delete (Hide from UI)
         u.setIsActive(false);
         users.save(u);
+        securityUtils.evict(u.getEmail());
     }
 
     // --- INVENTORY STAFF METHODS ---
@@ -192,6 +196,7 @@ public class UserService {
         member.setFirstName(req.getFirstName());
         member.setLastName(req.getLastName());
         member.setPhone(req.getPhone());
+        securityUtils.evict(member.getEmail());
 
         return users.save(member);
     }
@@ -207,5 +212,6 @@ public class UserService {
 
         member.setIsActive(false);
         users.save(member);
+        securityUtils.evict(member.getEmail());
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.inventory.entity.Product;
 import com.inventory.entity.Role;
 import com.inventory.entity.Supplier;
 import com.inventory.repository.*;
+import com.inventory.service.AutoReorderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +48,7 @@ class BotIntegrationTest {
     @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired NotificationRepository notificationRepository;
     @Autowired TestAuthHelper auth;
+    @Autowired AutoReorderService autoReorderService;
 
     private String adminToken;
 
@@ -108,6 +110,56 @@ class BotIntegrationTest {
 
         // 3. Verify Purchase Order Created
         // We expect 1 PO in ORDERED status with 100 quantity
+        String list = mvc.perform(get("/purchases/orders")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("page", "0")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].status").value("ORDERED"))
+                .andExpect(jsonPath("$.data.content[0].itemCount").value(1))
+                .andReturn().getResponse().getContentAsString();
+        long poId = objectMapper.readTree(list).get("data").get("content").get(0).get("id").asLong();
+
+        // Line quantities come from the detail endpoint; the list only carries the line count
+        mvc.perform(get("/purchases/orders/" + poId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].quantityOrdered").value(100));
+    }
+
+    @Test
+    void triggerBot_shouldConsolidateLinesPerSupplier() throws Exception {
+        Category cat = categoryRepository.save(Category.builder().name("AutoCat").isActive(true).build());
+        Supplier sup = supplierRepository.save(Supplier.builder().name("AutoSupplier").isActive(true).build());
+
+        for (String sku : new String[]{"AUTO-101", "AUTO-102"}) {
+            String createProductJson = """
+              {
+                "sku": "%s",
+                "name": "Auto %s",
+                "categoryId": %d,
+                "unitPrice": 50.00,
+                "costPrice": 25.00,
+                "quantityOnHand": 1,
+                "reorderPoint": 10,
+                "reorderQuantity": 40,
+                "autoReorderEnabled": true,
+                "supplierIds": [%d]
+              }
+            """.formatted(sku, sku, cat.getId(), sup.getId());
+
+            mvc.perform(post("/products")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(createProductJson))
+                    .andExpect(status().isCreated());
+        }
+
+        mvc.perform(post("/inventory/bot/trigger")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
         mvc.perform(get("/purchases/orders")
                 .header("Authorization", "Bearer " + adminToken)
                 .param("page", "0")
@@ -115,6 +167,60 @@ class BotIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.content", hasSize(1)))
                 .andExpect(jsonPath("$.data.content[0].status").value("ORDERED"))
-                .andExpect(jsonPath("$.data.content[0].items[0].quantityOrdered").value(100));
+                .andExpect(jsonPath("$.data.content[0].itemCount").value(2));
+    }
+
+    @Test
+    void sale_below_reorder_point_is_ordered_by_the_queue_drain_and_retried_after_a_failure() throws Exception {
+        Category cat = categoryRepository.save(Category.builder().name("AutoCat").isActive(true).build());
+        Supplier sup = supplierRepository.save(Supplier.builder().name("AutoSupplier").isActive(true).build());
+
+        String createProductJson = """
+          {
+            "sku": "AUTO-201",
+            "name": "Queued Reorder Product",
+            "categoryId": %d,
+            "unitPrice": 50.00,
+            "costPrice": 25.00,
+            "quantityOnHand": 20,
+            "reorderPoint": 10,
+            "reorderQuantity": 60,
+            "autoReorderEnabled": true,
+            "supplierIds": [%d]
+          }
+        """.formatted(cat.getId(), sup.getId());
+        String created = mvc.perform(post("/products")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createProductJson))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long productId = objectMapper.readTree(created).get("data").get("id").asLong();
+
+        String sale = """
+          {"customerId": null, "items": [{"productId": %d, "quantity": 15, "unitPrice": null, "discountPercent": 0}],
+           "taxAmount": 0, "discountAmount": 0, "shippingAddress": "X", "notes": "N"}
+        """.formatted(productId);
+        mvc.perform(post("/sales/orders")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(sale))
+                .andExpect(status().isCreated());
+
+        // The bot runs as admin@inventory.com; without that account placing the order fails
+        autoReorderService.drainTouchedProducts();
+        mvc.perform(get("/purchases/orders").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+
+        // The failed product stayed queued, so the next drain orders it
+        auth.ensureUser("admin@inventory.com", "Admin@123", roleRepository.findByName("ADMIN").orElseThrow());
+        autoReorderService.drainTouchedProducts();
+        mvc.perform(get("/purchases/orders").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].status").value("ORDERED"))
+                .andExpect(jsonPath("$.data.content[0].supplierName").value("AutoSupplier"))
+                .andExpect(jsonPath("$.data.content[0].itemCount").value(1));
     }
-}
\ No newline at end of file
+}
@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -108,4 +109,44 @@ class InventoryControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.quantityBefore").value(100))
                 .andExpect(jsonPath("$.data.quantityAfter").value(125));
     }
-}
\ No newline at end of file
+
+    @Test
+    void adjust_stock_below_reorder_point_notifies_admin_once_per_window() throws Exception {
+        String adjust = """
+          {
+            "productId": %d,
+            "adjustmentType": "DECREASE",
+            "quantity": 95,
+            "reason":"Damaged"
+          }
+        """.formatted(productId);
+
+        mvc.perform(post("/inventory/adjust")
+                        .header("Authorization","Bearer "+adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(adjust))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quantityAfter").value(5));
+
+        mvc.perform(get("/notifications/unread")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].type").value("LOW_STOCK"))
+                .andExpect(jsonPath("$.data[0].referenceId").value(productId));
+
+        // A second low-stock event inside the window updates the alert instead of adding one
+        mvc.perform(post("/inventory/adjust")
+                        .header("Authorization","Bearer "+adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(adjust.replace("95", "2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quantityAfter").value(3));
+
+        mvc.perform(get("/notifications/unread")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].message").value(containsString("Current: 3")));
+    }
+}
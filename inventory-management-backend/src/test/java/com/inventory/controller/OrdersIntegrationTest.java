@@ -1,11 +1,16 @@
 package com.inventory.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.config.JacksonTestConfig;
 import com.inventory.entity.Category;
 import com.inventory.entity.Role;
 import com.inventory.entity.Supplier;
 import com.inventory.repository.*;
+import com.inventory.service.SalesCube;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,8 +21,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print; // <--- ADD THIS
@@ -41,7 +50,10 @@ class OrdersIntegrationTest {
     @Autowired SalesOrderRepository salesOrderRepository;
     @Autowired PurchaseOrderRepository purchaseOrderRepository;
     @Autowired NotificationRepository notificationRepository;
+    @Autowired SalesDailyRollupRepository salesDailyRollupRepository;
     @Autowired TestAuthHelper auth;
+    @Autowired SalesCube salesCube;
+    @Autowired EntityManagerFactory emf;
 
     private String adminToken;
     private String salesToken;
@@ -55,6 +67,7 @@ class OrdersIntegrationTest {
     	notificationRepository.deleteAll();
         stockAdjustmentRepository.deleteAll();
         salesOrderRepository.deleteAll();
+        salesDailyRollupRepository.deleteAll();
         purchaseOrderRepository.deleteAll();
         
         refreshTokenRepository.deleteAll();
@@ -141,6 +154,41 @@ class OrdersIntegrationTest {
                 .andExpect(jsonPath("$.data.quantityOnHand").value(50));
     }
 
+    @Test
+    void salesOrder_lines_for_same_product_are_checked_together() throws Exception {
+        String tooMuch = """
+          {
+            "customerId": null,
+            "items": [
+              {"productId": %d, "quantity": 30, "unitPrice": null, "discountPercent": 0},
+              {"productId": %d, "quantity": 30, "unitPrice": null, "discountPercent": 0}
+            ],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId, productId);
+
+        mvc.perform(post("/sales/orders")
+                        .header("Authorization","Bearer "+salesToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(tooMuch))
+                .andExpect(status().isBadRequest());
+
+        String split = tooMuch.replace("\"quantity\": 30", "\"quantity\": 20");
+
+        mvc.perform(post("/sales/orders")
+                        .header("Authorization","Bearer "+salesToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(split))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.items.length()").value(2));
+
+        mvc.perform(get("/products/" + productId)
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quantityOnHand").value(10));
+    }
+
     @Test
     void purchaseOrder_create_then_receive_increases_stock() throws Exception {
         String createPO = """
@@ -188,6 +236,42 @@ class OrdersIntegrationTest {
                 .andExpect(jsonPath("$.data.quantityOnHand").value(60));
     }
 
+    @Test
+    void dashboard_sales_metrics_follow_create_and_cancel() throws Exception {
+        String createSO = """
+          {
+            "customerId": null,
+            "items": [{"productId": %d, "quantity": 2, "unitPrice": 20.00, "discountPercent": 0}],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId);
+
+        String soJson = mvc.perform(post("/sales/orders")
+                        .header("Authorization","Bearer "+salesToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createSO))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long soId = objectMapper.readTree(soJson).get("data").get("id").asLong();
+
+        mvc.perform(get("/dashboard").param("range","week").header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.salesMetrics.totalOrdersToday").value(1))
+                .andExpect(jsonPath("$.data.salesMetrics.revenueToday").value(40.0))
+                .andExpect(jsonPath("$.data.salesChart", hasSize(1)));
+
+        mvc.perform(patch("/sales/orders/" + soId + "/status")
+                        .header("Authorization","Bearer "+salesToken)
+                        .param("status","CANCELLED"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/dashboard").param("range","week").header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.salesMetrics.totalOrdersToday").value(0))
+                .andExpect(jsonPath("$.data.salesChart", hasSize(0)));
+    }
+
     // ... (rest of the file remains same) ...
     @Test
     void export_dashboard_reports_work_for_admin() throws Exception {
@@ -195,4 +279,319 @@ class OrdersIntegrationTest {
         mvc.perform(get("/dashboard").header("Authorization","Bearer "+adminToken)).andExpect(status().isOk());
         // ...
     }
-}
\ No newline at end of file
+
+    @Test
+    void export_products_streams_csv_rows() throws Exception {
+        var started = mvc.perform(get("/export/products").header("Authorization","Bearer "+adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("products.csv")))
+                .andExpect(content().string(startsWith("SKU,Name,Category,")))
+                .andExpect(content().string(containsString("ORD-001,Order Product,Cat,50,5,10.00,20.00,500.00")));
+    }
+
+    @Test
+    void export_job_runs_in_background_and_supports_range_downloads() throws Exception {
+        String submitted = mvc.perform(post("/export/jobs").param("type", "PRODUCTS")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.type").value("PRODUCTS"))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(submitted).get("data").get("id").asText();
+
+        String state = "QUEUED";
+        for (int i = 0; i < 100 && !state.equals("COMPLETED") && !state.equals("FAILED"); i++) {
+            Thread.sleep(100);
+            String json = mvc.perform(get("/export/jobs/" + jobId).header("Authorization","Bearer "+adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = objectMapper.readTree(json).get("data").get("status").asText();
+        }
+        assertEquals("COMPLETED", state);
+
+        byte[] gz = mvc.perform(get("/export/jobs/" + jobId + "/download").header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (var in = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(gz))) {
+            String csv = new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            assertTrue(csv.contains("ORD-001,Order Product,Cat,50,5,10.00,20.00,500.00"), csv);
+        }
+
+        byte[] tail = mvc.perform(get("/export/jobs/" + jobId + "/download")
+                        .header("Authorization","Bearer "+adminToken)
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(java.util.Arrays.copyOfRange(gz, 10, gz.length), tail);
+    }
+
+    @Test
+    void export_sales_lines_streams_gzip_with_order_and_product_columns() throws Exception {
+        String createSO = """
+          {
+            "customerId": null,
+            "items": [{"productId": %d, "quantity": 3, "unitPrice": 20.00, "discountPercent": 0}],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId);
+        mvc.perform(post("/sales/orders")
+                        .header("Authorization","Bearer "+salesToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createSO))
+                .andExpect(status().isCreated());
+
+        var started = mvc.perform(get("/export/sales-lines")
+                        .param("startDate", LocalDateTime.now().minusDays(1).toString())
+                        .param("endDate", LocalDateTime.now().plusDays(1).toString())
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] gz = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        try (var in = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(gz))) {
+            String[] lines = new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].startsWith("OrderNumber,OrderDate,Status,Department,SKU,Category,"));
+            assertTrue(lines[1].endsWith(",PENDING,General,ORD-001,Cat,3,20.00,0.00,60.00"), lines[1]);
+        }
+    }
+
+    @Test
+    void export_sales_lines_parquet_streams_a_columnar_file() throws Exception {
+        String createSO = """
+          {
+            "customerId": null,
+            "items": [{"productId": %d, "quantity": 3, "unitPrice": 20.00, "discountPercent": 0}],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId);
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/sales/orders")
+                            .header("Authorization","Bearer "+salesToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(createSO))
+                    .andExpect(status().isCreated());
+        }
+
+        var started = mvc.perform(get("/export/sales-lines.parquet")
+                        .param("startDate", LocalDateTime.now().minusDays(1).toString())
+                        .param("endDate", LocalDateTime.now().plusDays(1).toString())
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] file = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=sales-lines.parquet"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var tail = java.nio.ByteBuffer.wrap(file, file.length - 8, 8).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        int footerLength = tail.getInt();
+        assertEquals("PAR1", new String(file, file.length - 4, 4, java.nio.charset.StandardCharsets.US_ASCII));
+        var meta = org.apache.parquet.format.Util.readFileMetaData(
+                new java.io.ByteArrayInputStream(file, file.length - 8 - footerLength, footerLength));
+        assertEquals(2, meta.getNum_rows());
+        assertEquals(List.of("schema", "order_number", "order_date", "status", "department", "sku", "category",
+                        "quantity", "unit_price", "discount_percent", "line_total"),
+                meta.getSchema().stream().map(e -> e.name).toList());
+    }
+
+    @Test
+    void sales_report_is_grouped_by_day_and_skips_cancelled_orders() throws Exception {
+        String createSO = """
+          {
+            "customerId": null,
+            "items": [{"productId": %d, "quantity": 2, "unitPrice": 20.00, "discountPercent": 0}],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId);
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/sales/orders")
+                            .header("Authorization","Bearer "+salesToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(createSO))
+                    .andExpect(status().isCreated());
+        }
+        String cancelled = mvc.perform(post("/sales/orders")
+                        .header("Authorization","Bearer "+salesToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createSO))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mvc.perform(patch("/sales/orders/" + objectMapper.readTree(cancelled).get("data").get("id").asLong() + "/status")
+                        .header("Authorization","Bearer "+salesToken)
+                        .param("status","CANCELLED"))
+                .andExpect(status().isOk());
+
+        String start = LocalDateTime.now().minusDays(1).toString();
+        String end = LocalDateTime.now().plusDays(1).toString();
+
+        mvc.perform(get("/reports/sales").param("startDate", start).param("endDate", end)
+                        .param("productId", productId.toString())
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalOrders").value(2))
+                .andExpect(jsonPath("$.data.totalRevenue").value(80.0))
+                .andExpect(jsonPath("$.data.totalItemsSold").value(4))
+                .andExpect(jsonPath("$.data.dailySales", hasSize(1)))
+                .andExpect(jsonPath("$.data.dailySales[0].orderCount").value(2));
+
+        mvc.perform(get("/reports/sales").param("startDate", start).param("endDate", end)
+                        .param("productId", String.valueOf(productId + 1000))
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalOrders").value(0))
+                .andExpect(jsonPath("$.data.dailySales", hasSize(0)));
+    }
+
+    @Test
+    void sales_cube_follows_order_events_and_slices_by_dimension() throws Exception {
+        salesCube.rebuild(); // other tests wipe tables behind the cube's back
+
+        String createSO = """
+          {
+            "customerId": null,
+            "items": [{"productId": %d, "quantity": 2, "unitPrice": 20.00, "discountPercent": 0}],
+            "taxAmount": 0,
+            "discountAmount": 0
+          }
+        """.formatted(productId);
+        long cancelledId = 0;
+        for (int i = 0; i < 2; i++) {
+            String json = mvc.perform(post("/sales/orders")
+                            .header("Authorization","Bearer "+salesToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(createSO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            cancelledId = objectMapper.readTree(json).get("data").get("id").asLong();
+        }
+        mvc.perform(patch("/sales/orders/" + cancelledId + "/status")
+                        .header("Authorization","Bearer "+salesToken)
+                        .param("status","CANCELLED"))
+                .andExpect(status().isOk());
+
+        // changes are queued on commit and applied by the scheduled batch
+        mvc.perform(get("/reports/cube").header("Authorization","Bearer "+adminToken))
+                .andExpect(jsonPath("$.data.rowsScanned").value(0));
+        salesCube.applyChangedOrders();
+
+        mvc.perform(get("/reports/cube").param("groupBy", "product")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows", hasSize(1)))
+                .andExpect(jsonPath("$.data.rows[0].key[0]").value("ORD-001"))
+                .andExpect(jsonPath("$.data.rows[0].quantity").value(2))
+                .andExpect(jsonPath("$.data.rows[0].revenue").value(40.0));
+
+        mvc.perform(get("/reports/cube").param("groupBy", "category,status").param("grain", "month")
+                        .param("status", "pending", "cancelled")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows", hasSize(2)))
+                .andExpect(jsonPath("$.data.rows[*].key[1]", containsInAnyOrder("PENDING", "CANCELLED")));
+
+        mvc.perform(get("/reports/cube").param("groupBy", "warehouse")
+                        .header("Authorization","Bearer "+adminToken))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/reports/cube").header("Authorization","Bearer "+salesToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void sales_orders_cursor_pages_walk_newest_first_without_gaps() throws Exception {
+        String createSO = """
+          {"customerId": null, "items": [{"productId": %d, "quantity": 1, "unitPrice": null, "discountPercent": 0}],
+           "taxAmount": 0, "discountAmount": 0, "shippingAddress": "X", "notes": "N"}
+        """.formatted(productId);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String json = mvc.perform(post("/sales/orders")
+                            .header("Authorization", "Bearer " + salesToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(createSO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            created.add(objectMapper.readTree(json).get("data").get("id").asLong());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var req = get("/sales/orders/cursor").param("size", "2")
+                    .header("Authorization", "Bearer " + adminToken);
+            if (cursor == null) req.param("includeTotal", "true");
+            else req.param("cursor", cursor);
+            JsonNode data = objectMapper.readTree(mvc.perform(req)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("data");
+
+            if (cursor == null) assertEquals(5, data.get("totalElements").asLong());
+            else assertTrue(data.get("totalElements").isNull());
+            data.get("content").forEach(o -> seen.add(o.get("id").asLong()));
+            cursor = data.get("nextCursor").isNull() ? null : data.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> newestFirst = new ArrayList<>(created);
+        Collections.reverse(newestFirst);
+        assertEquals(newestFirst, seen);
+        assertEquals(3, pages);
+
+        mvc.perform(get("/sales/orders/cursor").param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void order_list_pages_are_read_as_projections_without_loading_lines() throws Exception {
+        String createSO = """
+          {"customerId": null, "items": [{"productId": %d, "quantity": 1, "unitPrice": null, "discountPercent": 0}],
+           "taxAmount": 0, "discountAmount": 0, "shippingAddress": "X", "notes": "N"}
+        """.formatted(productId);
+        String createPO = """
+          {"supplierId": %d, "items": [{"productId": %d, "quantity": 3, "unitCost": 10.00}], "notes": "x"}
+        """.formatted(supplierId, productId);
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(post("/sales/orders").header("Authorization", "Bearer " + salesToken)
+                    .contentType(MediaType.APPLICATION_JSON).content(createSO)).andExpect(status().isCreated());
+            mvc.perform(post("/purchases/orders").header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON).content(createPO)).andExpect(status().isCreated());
+        }
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        try {
+            for (String url : List.of("/sales/orders", "/sales/orders/cursor", "/purchases/orders", "/purchases/orders/cursor")) {
+                stats.clear();
+                mvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.content", hasSize(3)))
+                        .andExpect(jsonPath("$.data.content[0].itemCount").value(1))
+                        .andExpect(jsonPath("$.data.content[0].items").doesNotExist());
+                // only the caller's user row is loaded as an entity; no order, line or product graphs
+                assertEquals(0, stats.getCollectionLoadCount(), url);
+                assertTrue(stats.getEntityLoadCount() <= 2, url);
+                assertTrue(stats.getPrepareStatementCount() <= 3, url);
+            }
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+
+        mvc.perform(get("/sales/orders").header("Authorization", "Bearer " + adminToken))
+                .andExpect(jsonPath("$.data.content[0].customerName").value("Walk-in"));
+        mvc.perform(get("/purchases/orders").header("Authorization", "Bearer " + adminToken))
+                .andExpect(jsonPath("$.data.content[0].supplierName").isNotEmpty());
+    }
+}
@@ -3,8 +3,13 @@ package com.inventory.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.config.JacksonTestConfig;
 import com.inventory.entity.Category;
+import com.inventory.entity.Product;
 import com.inventory.entity.Role;
+import com.inventory.entity.User;
 import com.inventory.repository.*;
+import com.inventory.service.AutocompleteService;
+import com.inventory.service.ProductLookupIndex;
+import com.inventory.service.ProductSearchIndex;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,6 +19,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +46,9 @@ class ProductControllerIntegrationTest {
     @Autowired SupplierRepository supplierRepository;           // Add this
     @Autowired NotificationRepository notificationRepository;
     @Autowired TestAuthHelper auth;
+    @Autowired ProductSearchIndex searchIndex;
+    @Autowired ProductLookupIndex lookupIndex;
+    @Autowired AutocompleteService autocomplete;
 
     private String adminToken;
     private Category category;
@@ -99,4 +110,210 @@ class ProductControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.content", hasSize(greaterThanOrEqualTo(1))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_matches_name_and_sku_substrings_and_follows_changes() throws Exception {
+        searchIndex.rebuild(); // other tests wipe products behind the index's back
+
+        String template = """
+          {"sku":"%s","name":"%s","categoryId": %d,"unitPrice": 10.00,"costPrice": 5.00,
+           "quantityOnHand": 10,"reorderPoint": 1,"reorderQuantity": 5,"unitOfMeasure":"UNIT"}
+        """;
+        String widget = mvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("WID-100", "Blue Widget", category.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long widgetId = objectMapper.readTree(widget).get("data").get("id").asLong();
+        mvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("GAD-200", "Red Gadget", category.getId())))
+                .andExpect(status().isCreated());
+        searchIndex.applyChangedProducts();
+
+        mvc.perform(get("/products/search").param("q", "WIDG")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.content[0].sku").value("WID-100"));
+
+        mvc.perform(get("/products/search").param("q", "d-2")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].sku", contains("GAD-200")));
+
+        mvc.perform(delete("/products/" + widgetId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().is2xxSuccessful());
+        searchIndex.applyChangedProducts();
+
+        mvc.perform(get("/products/search").param("q", "widget")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(0));
+    }
+
+    @Test
+    void search_skips_products_deactivated_behind_the_index() throws Exception {
+        searchIndex.rebuild();
+
+        String template = """
+          {"sku":"%s","name":"%s","categoryId": %d,"unitPrice": 10.00,"costPrice": 5.00,
+           "quantityOnHand": 10,"reorderPoint": 1,"reorderQuantity": 5,"unitOfMeasure":"UNIT"}
+        """;
+        for (String name : List.of("Alpha Bolt", "Beta Bolt", "Gamma Bolt")) {
+            mvc.perform(post("/products")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(template.formatted("BLT-" + name.charAt(0), name, category.getId())))
+                    .andExpect(status().isCreated());
+        }
+        searchIndex.applyChangedProducts();
+
+        // deactivated without an event, so the index still returns it first
+        Product alpha = productRepository.findBySku("BLT-A").orElseThrow();
+        alpha.setIsActive(false);
+        productRepository.save(alpha);
+
+        mvc.perform(get("/products/search").param("q", "bolt").param("size", "2")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].sku", contains("BLT-B", "BLT-G")))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+    }
+
+    @Test
+    void lookup_finds_product_by_barcode_or_sku_and_follows_updates() throws Exception {
+        lookupIndex.rebuild(); // other tests wipe products behind the map's back
+
+        String template = """
+          {"sku":"SCN-1","name":"Scanner Item","categoryId": %d,"unitPrice": 12.50,"costPrice": 5.00,
+           "quantityOnHand": 7,"reorderPoint": 1,"reorderQuantity": 5,"unitOfMeasure":"UNIT","barcode":"%s"}
+        """;
+        String created = mvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted(category.getId(), "4006381333931")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("data").get("id").asLong();
+        lookupIndex.applyChangedProducts();
+
+        mvc.perform(get("/products/lookup").param("code", "4006381333931")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(id))
+                .andExpect(jsonPath("$.data.sku").value("SCN-1"))
+                .andExpect(jsonPath("$.data.quantityOnHand").value(7))
+                .andExpect(jsonPath("$.data.isExpired").value(false));
+
+        mvc.perform(get("/products/lookup").param("code", "SCN-1")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.barcode").value("4006381333931"));
+
+        mvc.perform(put("/products/" + id)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted(category.getId(), "5901234123457")))
+                .andExpect(status().isOk());
+
+        // the SKU keeps resolving while the change is queued and after it is applied
+        mvc.perform(get("/products/lookup").param("code", "SCN-1")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.barcode").value("4006381333931"));
+        lookupIndex.applyChangedProducts();
+        mvc.perform(get("/products/lookup").param("code", "SCN-1")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.barcode").value("5901234123457"));
+
+        mvc.perform(get("/products/lookup").param("code", "4006381333931")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/products/lookup").param("code", "5901234123457")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(id));
+    }
+
+    @Test
+    void autocomplete_matches_word_and_sku_prefixes_and_follows_changes() throws Exception {
+        autocomplete.rebuild(); // other tests wipe products behind the index's back
+
+        String template = """
+          {"sku":"%s","name":"%s","categoryId": %d,"unitPrice": 10.00,"costPrice": 5.00,
+           "quantityOnHand": 10,"reorderPoint": 1,"reorderQuantity": 5,"unitOfMeasure":"UNIT"}
+        """;
+        String lamp = mvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("LMP-1", "Desk Lamp", category.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long lampId = objectMapper.readTree(lamp).get("data").get("id").asLong();
+        mvc.perform(post("/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("LMP-2", "Floor Lamp", category.getId())))
+                .andExpect(status().isCreated());
+        autocomplete.applyChanges();
+
+        mvc.perform(get("/products/autocomplete").param("q", "lam")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].detail", containsInAnyOrder("LMP-1", "LMP-2")));
+
+        mvc.perform(get("/products/autocomplete").param("q", "lmp-2")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].label", contains("Floor Lamp")));
+
+        mvc.perform(put("/products/" + lampId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(template.formatted("LMP-1", "Reading Light", category.getId())))
+                .andExpect(status().isOk());
+        autocomplete.applyChanges();
+
+        mvc.perform(get("/products/autocomplete").param("q", "lamp")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].label", contains("Floor Lamp")));
+        mvc.perform(get("/products/autocomplete").param("q", "light")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(lampId));
+    }
+
+    @Test
+    void token_stops_working_once_user_is_locked_deactivated_or_changes_role() throws Exception {
+        mvc.perform(get("/products").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        User admin = userRepository.findByEmail("admin@x.com").orElseThrow();
+        admin.setLockedUntil(LocalDateTime.now().plusHours(1));
+        userRepository.saveAndFlush(admin);
+        mvc.perform(get("/products").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isUnauthorized());
+
+        admin.setLockedUntil(null);
+        admin.setRole(roleRepository.findByName("SALES_EXECUTIVE").orElseThrow());
+        userRepository.saveAndFlush(admin);
+        mvc.perform(get("/products").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isUnauthorized());
+
+        admin.setRole(roleRepository.findByName("ADMIN").orElseThrow());
+        userRepository.saveAndFlush(admin);
+        mvc.perform(get("/products").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        admin.setIsActive(false);
+        userRepository.saveAndFlush(admin);
+        mvc.perform(get("/products").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,148 @@
+package com.inventory.security;
+
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.entity.User;
+import com.inventory.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-request cost of authenticating a bearer token: the filter as it was
+ * before access tokens carried id/role claims (a parser built per call, four
+ * signature checks and a user SELECT) against the current filter, with the
+ * user cache on as in production. Opt-in:
+ * {@code mvn test -Dtest=JwtAuthenticationFilterBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "app.security.user-cache-ttl-seconds=300")
+@ActiveProfiles("test")
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+
+    @Autowired JwtAuthenticationFilter filter;
+    @Autowired JwtTokenProvider jwt;
+    @Autowired UserDetailsService userDetailsService;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    @Value("${jwt.secret}")
+    String secret;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        user = auth.ensureUser("bench-" + UUID.randomUUID() + "@test.com", "Password@123", auth.ensureRole("SALES_EXECUTIVE"));
+        token = jwt.generateAccessToken(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void old_and_new_filter_paths() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        Request previous = request -> previousFilter(request, key);
+        Request current = request -> filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        for (int i = 0; i < 2_000; i++) { // warm up, and fill the user cache
+            time(previous);
+            time(current);
+        }
+        long[] before = new long[REQUESTS];
+        long[] after = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            before[i] = time(previous);
+            after[i] = time(current);
+        }
+
+        System.out.printf("JWT authentication, %,d requests each:%n", REQUESTS);
+        System.out.printf("  before (4 parses + user SELECT): %s%n", summary(before));
+        System.out.printf("  now (1 parse + cached user):     %s%n", summary(after));
+    }
+
+    private interface Request {
+        void run(MockHttpServletRequest request) throws Exception;
+    }
+
+    private long time(Request path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        SecurityContextHolder.clearContext();
+        long started = System.nanoTime();
+        path.run(request);
+        long nanos = System.nanoTime() - started;
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication(), "request was not authenticated");
+        return nanos;
+    }
+
+    /** The authentication part of JwtAuthenticationFilter and JwtTokenProvider before the id/role claims. */
+    private void previousFilter(MockHttpServletRequest request, SecretKey key) {
+        String t = request.getHeader("Authorization").substring(7);
+        if (!validate(t, key)) return;
+        String email = claims(t, key).getSubject();
+        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails u = userDetailsService.loadUserByUsername(email);
+            boolean valid = claims(t, key).getSubject().equals(u.getUsername())
+                    && !claims(t, key).getExpiration().before(new Date());
+            if (valid) {
+                UsernamePasswordAuthenticationToken a = new UsernamePasswordAuthenticationToken(u, null, u.getAuthorities());
+                a.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(a);
+            }
+        }
+    }
+
+    private static boolean validate(String t, SecretKey key) {
+        try {
+            claims(t, key);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Claims claims(String t, SecretKey key) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(t).getPayload();
+    }
+
+    private static String summary(long[] nanos) {
+        long total = 0;
+        for (long n : nanos) total += n;
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("mean %.1f us, p50 %.1f us, p99 %.1f us, %,.0f requests/s",
+                total / (double) nanos.length / 1e3, sorted[sorted.length / 2] / 1e3,
+                sorted[(int) (sorted.length * 0.99)] / 1e3, nanos.length / (total / 1e9));
+    }
+}
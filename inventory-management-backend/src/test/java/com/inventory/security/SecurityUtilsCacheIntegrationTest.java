@@ -0,0 +1,86 @@
+package com.inventory.security;
+
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.entity.Role;
+import com.inventory.entity.User;
+import com.inventory.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The shared test profile disables the user cache; this class runs with it on.
+@SpringBootTest(properties = "app.security.user-cache-ttl-seconds=300")
+@ActiveProfiles("test")
+class SecurityUtilsCacheIntegrationTest {
+
+    @Autowired SecurityUtils securityUtils;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    private User manager;
+    private User member;
+
+    @BeforeEach
+    void setup() {
+        Role staff = auth.ensureRole("INVENTORY_STAFF");
+        Role sales = auth.ensureRole("SALES_EXECUTIVE");
+        String suffix = UUID.randomUUID().toString();
+
+        manager = auth.ensureUser("lead-" + suffix + "@test.com", "Password@123", staff);
+        member = userRepository.saveAndFlush(User.builder()
+                .email("member-" + suffix + "@test.com")
+                .passwordHash("x")
+                .firstName("Team")
+                .lastName("Member")
+                .department("General")
+                .role(sales)
+                .manager(manager)
+                .isActive(true)
+                .build());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(member.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteById(member.getId());
+        userRepository.deleteById(manager.getId());
+    }
+
+    @Test
+    void miss_and_hit_return_the_same_detached_copy_with_a_usable_manager_reference() {
+        User miss = securityUtils.getCurrentUser();
+        User hit = securityUtils.getCurrentUser();
+
+        assertSame(miss, hit);
+        assertEquals("SALES_EXECUTIVE", hit.getRole().getName());
+        assertEquals(manager.getId(), hit.getManager().getId());
+        // id-only reference, not a proxy from the session that loaded the user
+        assertDoesNotThrow(() -> hit.getManager().getEmail());
+    }
+
+    @Test
+    void cached_user_is_kept_until_evicted() {
+        assertEquals("General", securityUtils.getCurrentUser().getDepartment());
+
+        User row = userRepository.findById(member.getId()).orElseThrow();
+        row.setDepartment("Electronics");
+        userRepository.saveAndFlush(row);
+        assertEquals("General", securityUtils.getCurrentUser().getDepartment());
+
+        securityUtils.evict(member.getEmail());
+        assertEquals("Electronics", securityUtils.getCurrentUser().getDepartment());
+    }
+}
@@ -0,0 +1,143 @@
+package com.inventory.service;
+
+import com.inventory.config.IdGeneratorMigration;
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.entity.PurchaseOrder.PurchaseOrderStatus;
+import com.inventory.entity.User;
+import com.inventory.repository.PurchaseOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reorder scan time with {@code benchmark.products} (10k) products and
+ * {@code benchmark.purchase-orders} (100k) historical purchase orders. One in
+ * ten products is low on stock; half of those already have an open order.
+ * Also times, on a couple of candidates, the per-product check the scan used
+ * before (every PO loaded to look for an open line). Opt-in:
+ * {@code mvn test -Dtest=AutoReorderScanBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@ActiveProfiles("test")
+class AutoReorderScanBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 10_000);
+    private static final int PURCHASE_ORDERS = Integer.getInteger("benchmark.purchase-orders", 100_000);
+    private static final int LOW = PRODUCTS / 10;
+
+    @Autowired AutoReorderService autoReorder;
+    @Autowired PurchaseOrderRepository purchaseOrders;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired IdGeneratorMigration idGenerators;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TestAuthHelper auth;
+
+    private List<Long> low;
+
+    @BeforeEach
+    void setup() {
+        BenchmarkData.wipe(jdbc);
+        // the bot places its orders as this account
+        User admin = auth.ensureUser("admin@inventory.com", "Admin@123", auth.ensureRole("ADMIN"));
+
+        long category = BenchmarkData.category(jdbc, "Bench");
+        low = BenchmarkData.products(jdbc, category, "LOW", LOW, 0, 10, true);
+        List<Long> stocked = BenchmarkData.products(jdbc, category, "OK", PRODUCTS - LOW, 100, 10, true);
+        List<Long> all = new ArrayList<>(low);
+        all.addAll(stocked);
+
+        jdbc.update("INSERT INTO suppliers (name, is_active, created_at, updated_at) "
+                + "VALUES ('Bench Supplier', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        long supplier = jdbc.queryForObject("SELECT id FROM suppliers WHERE name = 'Bench Supplier'", Long.class);
+        jdbc.batchUpdate("INSERT INTO product_suppliers (product_id, supplier_id, supplier_price, lead_time_days, "
+                        + "is_preferred, created_at) VALUES (?, ?, 4.50, 7, TRUE, CURRENT_TIMESTAMP)",
+                low.stream().map(id -> new Object[]{id, supplier}).toList());
+
+        // history: received and cancelled orders over all products, plus open orders for half the low ones
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(3);
+        List<Object[]> orders = new ArrayList<>(PURCHASE_ORDERS);
+        for (int i = 0; i < PURCHASE_ORDERS; i++) {
+            PurchaseOrderStatus status = i < LOW / 2 ? PurchaseOrderStatus.ORDERED
+                    : random.nextInt(10) == 0 ? PurchaseOrderStatus.CANCELLED : PurchaseOrderStatus.RECEIVED;
+            orders.add(new Object[]{"PO-BENCH-" + i, supplier, Timestamp.valueOf(start.plusMinutes(15L * i)),
+                    status.name(), admin.getId()});
+        }
+        jdbc.batchUpdate("INSERT INTO purchase_orders (order_number, supplier_id, order_date, status, subtotal, "
+                + "tax_amount, shipping_cost, total_amount, created_by, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 45.00, 0, 0, 45.00, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", orders);
+        List<Long> orderIds = jdbc.queryForList(
+                "SELECT id FROM purchase_orders WHERE order_number LIKE 'PO-BENCH-%' ORDER BY id", Long.class);
+
+        List<Object[]> lines = new ArrayList<>(PURCHASE_ORDERS);
+        for (int i = 0; i < orderIds.size(); i++) {
+            long product = i < LOW / 2 ? low.get(i) : all.get(random.nextInt(all.size()));
+            lines.add(new Object[]{i + 1L, orderIds.get(i), product});
+        }
+        jdbc.batchUpdate("INSERT INTO purchase_order_items (id, purchase_order_id, product_id, quantity_ordered, "
+                + "quantity_received, unit_cost, line_total) VALUES (?, ?, ?, 10, 10, 4.50, 45.00)", lines);
+        ReflectionTestUtils.invokeMethod(idGenerators, "alignGenerators"); // past the ids inserted above
+    }
+
+    @AfterEach
+    void cleanup() {
+        BenchmarkData.wipe(jdbc);
+    }
+
+    @Test
+    void full_scan_with_ten_thousand_products_and_one_hundred_thousand_orders() {
+        long started = System.nanoTime();
+        autoReorder.checkAndReorder(); // orders the low products that have no open order
+        long placingMillis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(purchaseOrders.findProductIdsWithOrderStatusIn(List.of(PurchaseOrderStatus.ORDERED,
+                PurchaseOrderStatus.PENDING, PurchaseOrderStatus.APPROVED))
+                .containsAll(low), "every low product should now be on order");
+
+        long[] steady = new long[10];
+        for (int i = 0; i < steady.length; i++) {
+            started = System.nanoTime();
+            autoReorder.checkAndReorder(); // everything low is on order: nothing to place
+            steady[i] = System.nanoTime() - started;
+        }
+
+        // the per-product check the scan used to run, on two candidates
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        long[] before = new long[2];
+        for (int i = 0; i < before.length; i++) {
+            long product = low.get(low.size() - 1 - i);
+            started = System.nanoTime();
+            Boolean open = tx.execute(status -> purchaseOrders.findAll().stream()
+                    .filter(po -> po.getStatus() == PurchaseOrderStatus.ORDERED
+                            || po.getStatus() == PurchaseOrderStatus.PENDING
+                            || po.getStatus() == PurchaseOrderStatus.APPROVED)
+                    .flatMap(po -> po.getItems().stream())
+                    .anyMatch(item -> item.getProduct().getId().equals(product)));
+            before[i] = System.nanoTime() - started;
+            assertEquals(Boolean.TRUE, open);
+        }
+
+        System.out.printf("Reorder scan, %,d products (%,d low), %,d purchase orders:%n", PRODUCTS, LOW, PURCHASE_ORDERS);
+        System.out.printf("  scan placing orders for %,d products: %,d ms%n", LOW / 2, placingMillis);
+        System.out.printf("  scan with nothing to order: %s%n", BenchmarkData.summary(steady));
+        System.out.printf("  previous per-candidate check (findAll): %,d ms and %,d ms, called once per low product%n",
+                before[0] / 1_000_000, before[1] / 1_000_000);
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventory.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk seeding for the opt-in benchmarks, straight through JDBC so that
+ * setting up tens of thousands of rows doesn't dominate the run.
+ */
+final class BenchmarkData {
+
+    // children first; users, roles and customers are left to the tests that own them
+    private static final String[] TABLES = {
+            "notification_outbox", "notifications", "stock_adjustments", "sales_order_items", "sales_orders",
+            "sales_daily_rollup", "purchase_order_items", "purchase_orders", "product_suppliers", "products",
+            "suppliers", "categories"};
+
+    private BenchmarkData() {
+    }
+
+    static void wipe(JdbcTemplate jdbc) {
+        for (String table : TABLES) jdbc.update("DELETE FROM " + table);
+    }
+
+    static long category(JdbcTemplate jdbc, String name) {
+        jdbc.update("INSERT INTO categories (name, is_active, created_at, updated_at) "
+                + "VALUES (?, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", name);
+        return jdbc.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, name);
+    }
+
+    /** Active products {@code <prefix>-0..count-1} in id order, all with the same stock and reorder settings. */
+    static List<Long> products(JdbcTemplate jdbc, long categoryId, String prefix, int count,
+                               int quantity, int reorderPoint, boolean autoReorder) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + "-" + i, "Product " + prefix + " " + i, categoryId,
+                    BigDecimal.valueOf(1000 + i % 9000, 2), BigDecimal.valueOf(500 + i % 4000, 2),
+                    quantity, reorderPoint, 50, autoReorder});
+        }
+        jdbc.batchUpdate("INSERT INTO products (sku, name, category_id, unit_price, cost_price, quantity_on_hand, "
+                + "reorder_point, reorder_quantity, auto_reorder_enabled, unit_of_measure, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'UNIT', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+        return jdbc.queryForList("SELECT id FROM products WHERE sku LIKE ? ORDER BY id", Long.class, prefix + "-%");
+    }
+
+    /**
+     * {@code perDay} orders a day for {@code days} days from {@code start}, each of {@code lines} random
+     * lines over {@code productIds}; about one in twenty is cancelled. Ids are assigned here from 1, so
+     * callers align the pooled id generators afterwards. Returns the number of orders.
+     */
+    static int salesOrders(JdbcTemplate jdbc, long createdBy, List<Long> productIds,
+                           LocalDateTime start, int days, int perDay, int lines) {
+        Random random = new Random(42);
+        List<Object[]> orders = new ArrayList<>(days * perDay);
+        List<Object[]> items = new ArrayList<>(days * perDay * lines);
+        long orderId = 0;
+        long lineId = 0;
+        for (int day = 0; day < days; day++) {
+            for (int n = 0; n < perDay; n++) {
+                orderId++;
+                LocalDateTime at = start.plusDays(day).plusSeconds(random.nextInt(86_400));
+                String status = random.nextInt(20) == 0 ? "CANCELLED" : "COMPLETED";
+                orders.add(new Object[]{orderId, "SO-BENCH-" + orderId, Timestamp.valueOf(at), status, createdBy});
+                for (int l = 0; l < lines; l++) {
+                    items.add(new Object[]{++lineId, orderId, productIds.get(random.nextInt(productIds.size())),
+                            1 + random.nextInt(5)});
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO sales_orders (id, order_number, order_date, status, subtotal, tax_amount, "
+                + "discount_amount, total_amount, created_by, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 30.00, 0, 0, 30.00, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", orders);
+        jdbc.batchUpdate("INSERT INTO sales_order_items (id, sales_order_id, product_id, quantity, unit_price, "
+                + "line_total) VALUES (?, ?, ?, ?, 10.00, 10.00)", items);
+        return orders.size();
+    }
+
+    /** Sorts the timings in place. */
+    static String summary(long[] nanos) {
+        Arrays.sort(nanos);
+        return String.format("mean %.2f ms, p50 %.2f ms, p99 %.2f ms",
+                Arrays.stream(nanos).average().orElse(0) / 1e6,
+                nanos[nanos.length / 2] / 1e6,
+                nanos[(int) (nanos.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,148 @@
+package com.inventory.service;
+
+import com.inventory.entity.SalesOrder.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sales-order export rows through the printf path CsvWriter replaced and
+ * through CsvWriter, into a discarding stream, flushing every 500 rows as
+ * ExportService does. Reports rows/sec and bytes allocated by the writing
+ * thread. Opt-in:
+ * {@code mvn test -Dtest=CsvWriterBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CsvWriterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int FLUSH_EVERY = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // rows are cycled from a pool so that only the writers' own allocation is measured
+    private final Object[][] pool = pool(4096);
+
+    @Test
+    void csvWriter_against_printf_on_one_million_rows() throws IOException {
+        ByteArrayOutputStream printfSample = new ByteArrayOutputStream();
+        ByteArrayOutputStream csvSample = new ByteArrayOutputStream();
+        writePrintf(printfSample, pool.length);
+        writeCsv(csvSample, pool.length);
+        assertArrayEquals(printfSample.toByteArray(), csvSample.toByteArray(), "both paths write the same file");
+
+        for (int i = 0; i < 3; i++) { // warm up
+            writePrintf(OutputStream.nullOutputStream(), ROWS / 5);
+            writeCsv(OutputStream.nullOutputStream(), ROWS / 5);
+        }
+
+        Result printf = measure(() -> writePrintf(OutputStream.nullOutputStream(), ROWS));
+        Result csv = measure(() -> writeCsv(OutputStream.nullOutputStream(), ROWS));
+
+        System.out.printf("Sales-order CSV export, %,d rows:%n", ROWS);
+        System.out.printf("  printf:    %,d ms, %,.0f rows/s, %,d MB allocated (%,d bytes/row)%n",
+                printf.millis, printf.rowsPerSecond(), printf.bytes / (1024 * 1024), printf.bytes / ROWS);
+        System.out.printf("  CsvWriter: %,d ms, %,.0f rows/s, %,d MB allocated (%,d bytes/row)%n",
+                csv.millis, csv.rowsPerSecond(), csv.bytes / (1024 * 1024), csv.bytes / ROWS);
+    }
+
+    private interface Export {
+        void run() throws IOException;
+    }
+
+    private record Result(long millis, long bytes) {
+        double rowsPerSecond() {
+            return ROWS * 1000.0 / Math.max(1, millis);
+        }
+    }
+
+    private static Result measure(Export export) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long started = System.nanoTime();
+        export.run();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Result(millis, threads.getThreadAllocatedBytes(thread) - allocatedBefore);
+    }
+
+    /** ExportService.writeSalesOrdersCsv before CsvWriter. */
+    private void writePrintf(OutputStream out, int rows) {
+        PrintWriter w = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        w.println("OrderNumber,Customer,OrderDate,Status,Subtotal,Tax,Discount,Total");
+        for (int n = 0; n < rows; ) {
+            Object[] r = pool[n % pool.length];
+            w.printf("%s,%s,%s,%s,%s,%s,%s,%s%n",
+                    esc((String) r[0]),
+                    esc(r[1] != null ? (String) r[1] : "Walk-in"),
+                    r[2] != null ? esc(((LocalDateTime) r[2]).format(FMT)) : "",
+                    r[3] != null ? esc(((Enum<?>) r[3]).name()) : "",
+                    nvl(r[4]),
+                    nvl(r[5]),
+                    nvl(r[6]),
+                    nvl(r[7])
+            );
+            if (++n % FLUSH_EVERY == 0) w.flush();
+        }
+        w.flush();
+        assertFalse(w.checkError());
+    }
+
+    /** ExportService.writeSalesOrdersCsv as it is now. */
+    private void writeCsv(OutputStream out, int rows) throws IOException {
+        CsvWriter w = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        w.header("OrderNumber", "Customer", "OrderDate", "Status", "Subtotal", "Tax", "Discount", "Total");
+        for (int n = 0; n < rows; ) {
+            Object[] r = pool[n % pool.length];
+            w.field((String) r[0])
+                    .field(r[1] != null ? (String) r[1] : "Walk-in")
+                    .field((LocalDateTime) r[2])
+                    .field(r[3] != null ? ((Enum<?>) r[3]).name() : null)
+                    .field((BigDecimal) r[4])
+                    .field((BigDecimal) r[5])
+                    .field((BigDecimal) r[6])
+                    .field((BigDecimal) r[7])
+                    .endRow();
+            if (++n % FLUSH_EVERY == 0) w.flush();
+        }
+        w.flush();
+    }
+
+    private static String nvl(Object v) {
+        return v == null ? "" : v.toString();
+    }
+
+    private static String esc(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static Object[][] pool(int size) {
+        Random random = new Random(42);
+        String[] customers = {null, "Acme Ltd", "Smith, Jones & Co", "The \"Corner\" Shop", "Northwind Traders"};
+        OrderStatus[] statuses = OrderStatus.values();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 8, 0);
+        Object[][] rows = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            BigDecimal subtotal = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            BigDecimal tax = BigDecimal.valueOf(random.nextInt(5_000), 2);
+            BigDecimal discount = BigDecimal.valueOf(random.nextInt(1_000), 2);
+            rows[i] = new Object[]{"SO-2026-" + (100_000 + i), customers[random.nextInt(customers.length)],
+                    start.plusMinutes(37L * i), statuses[random.nextInt(statuses.length)],
+                    subtotal, tax, discount, subtotal.add(tax).subtract(discount)};
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void textFields_areQuotedOnlyWhenNeeded() throws IOException {
+        String csv = write(64, w -> w
+                .field("plain")
+                .field("a,b")
+                .field("say \"hi\"")
+                .field("two\nlines")
+                .field((String) null)
+                .endRow());
+
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\n", csv);
+    }
+
+    @Test
+    void numbersAndDates_matchTheirStringForms() throws IOException {
+        String csv = write(64, w -> w
+                .field(0)
+                .field(-42)
+                .field(Long.MIN_VALUE)
+                .field(new BigDecimal("1234.50"))
+                .field(new BigDecimal("-0.05"))
+                .field(new BigDecimal("1E+3"))
+                .field((BigDecimal) null)
+                .field(LocalDateTime.of(2024, 3, 7, 9, 5, 1))
+                .endRow());
+
+        assertEquals("0,-42," + Long.MIN_VALUE + ",1234.50,-0.05,1000,,2024-03-07 09:05:01\n", csv);
+    }
+
+    @Test
+    void fieldsLargerThanTheBuffer_areStillEscaped() throws IOException {
+        String big = "x".repeat(100) + ",\"" + "y".repeat(100);
+        String csv = write(64, w -> w.field("id").field(big).endRow());
+
+        assertEquals("id,\"" + big.replace("\"", "\"\"") + "\"\n", csv);
+    }
+
+    @Test
+    void manyRows_spanBufferFlushes() throws IOException {
+        StringBuilder expected = new StringBuilder("n,price\n");
+        for (int i = 0; i < 1000; i++) expected.append(i).append(",").append(i).append(".99\n");
+
+        String csv = write(64, w -> {
+            w.header("n", "price");
+            for (int i = 0; i < 1000; i++) w.field(i).field(new BigDecimal(i + ".99")).endRow();
+        });
+
+        assertEquals(expected.toString(), csv);
+    }
+
+    private interface Rows {
+        void write(CsvWriter w) throws IOException;
+    }
+
+    private static String write(int bufferSize, Rows rows) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter w = new CsvWriter(out, bufferSize);
+        rows.write(w);
+        w.flush();
+        return out.toString();
+    }
+}
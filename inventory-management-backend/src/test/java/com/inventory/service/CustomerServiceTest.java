@@ -7,6 +7,7 @@ import com.inventory.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -24,7 +25,7 @@ class CustomerServiceTest {
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
         customerRepository = mock(CustomerRepository.class);
-        customerService = new CustomerService(customerRepository);
+        customerService = new CustomerService(customerRepository, mock(ApplicationEventPublisher.class));
     }
 
     @Test
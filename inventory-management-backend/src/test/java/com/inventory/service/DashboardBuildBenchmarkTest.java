@@ -0,0 +1,133 @@
+package com.inventory.service;
+
+import com.inventory.config.IdGeneratorMigration;
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.dto.response.DashboardResponse;
+import com.inventory.entity.User;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SalesDailyRollupRepository;
+import com.inventory.repository.SalesOrderRepository;
+import com.inventory.repository.UserRepository;
+import com.inventory.security.SecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of assembling the dashboard (no snapshot cache) with sections on
+ * the dashboard executor against the same sections run one after another on
+ * the calling thread, over a year of seeded sales. Builds alternate between
+ * the two so drift hits both alike. Parallel sections only pay off with
+ * cores and database round trips to overlap; note both when reading the
+ * numbers. Opt-in:
+ * {@code mvn test -Dtest=DashboardBuildBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardBuildBenchmarkTest {
+
+    private static final int ORDERS_PER_DAY = Integer.getInteger("benchmark.orders-per-day", 100);
+    private static final int BUILDS = Integer.getInteger("benchmark.builds", 30);
+    private static final List<String> SECTIONS = List.of("buildInventoryMetrics", "buildSalesMetrics",
+            "buildLowStockList", "buildRecentOrders", "buildChartData", "buildPieChartData",
+            "buildProductSalesData", "buildUnderPerformingData", "buildExpiringList", "buildDeadStockList");
+
+    @Autowired DashboardService dashboardService;
+    @Autowired ProductRepository products;
+    @Autowired SalesOrderRepository salesOrders;
+    @Autowired SalesDailyRollupRepository salesRollup;
+    @Autowired SecurityUtils securityUtils;
+    @Autowired DashboardSnapshotCache snapshotCache;
+    @Autowired RequestCoalescer coalescer;
+    @Autowired @Qualifier("dashboardSectionTx") TransactionTemplate sectionTx;
+    @Autowired SalesRollupService rollupService;
+    @Autowired IdGeneratorMigration idGenerators;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    private User user;
+    private int orders;
+
+    @BeforeEach
+    void setup() {
+        BenchmarkData.wipe(jdbc);
+        user = auth.ensureUser("bench-dashboard@test.com", "Password@123", auth.ensureRole("ADMIN"));
+        long category = BenchmarkData.category(jdbc, "Bench");
+        List<Long> productIds = new ArrayList<>(BenchmarkData.products(jdbc, category, "DSH", 4500, 200, 10, false));
+        productIds.addAll(BenchmarkData.products(jdbc, category, "DSL", 500, 5, 10, false));
+        jdbc.update("UPDATE products SET expiry_date = ? WHERE MOD(id, 20) = 0", LocalDate.now().plusDays(10));
+
+        orders = BenchmarkData.salesOrders(jdbc, user.getId(), productIds,
+                LocalDate.now().minusDays(364).atStartOfDay(), 365, ORDERS_PER_DAY, 3);
+        ReflectionTestUtils.invokeMethod(idGenerators, "alignGenerators"); // past the ids inserted above
+        rollupService.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        BenchmarkData.wipe(jdbc);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void parallel_sections_against_serial() {
+        DashboardService serial = new DashboardService(products, salesOrders, salesRollup, securityUtils,
+                snapshotCache, coalescer, sectionTx, Runnable::run);
+        ReflectionTestUtils.setField(serial, "sectionTimeoutMs",
+                ReflectionTestUtils.getField(dashboardService, "sectionTimeoutMs"));
+
+        System.out.printf("Dashboard build, %,d products, %,d orders over a year, %d CPU(s):%n",
+                5000, orders, Runtime.getRuntime().availableProcessors());
+        for (String range : List.of("month", "year")) {
+            for (int i = 0; i < 5; i++) { // warm up
+                build(serial, range);
+                build(dashboardService, range);
+            }
+            long[] serialNanos = new long[BUILDS];
+            long[] parallelNanos = new long[BUILDS];
+            for (int i = 0; i < BUILDS; i++) {
+                serialNanos[i] = build(serial, range);
+                parallelNanos[i] = build(dashboardService, range);
+            }
+            System.out.printf("  %-5s serial:   %s%n", range, BenchmarkData.summary(serialNanos));
+            System.out.printf("  %-5s parallel: %s%n", range, BenchmarkData.summary(parallelNanos));
+        }
+
+        System.out.println("  by section (serial, month):");
+        for (String section : SECTIONS) {
+            long[] nanos = new long[BUILDS / 3];
+            for (int i = 0; i < nanos.length; i++) {
+                Object[] args = section.equals("buildChartData") ? new Object[]{"month", null} : new Object[]{null};
+                long started = System.nanoTime();
+                sectionTx.execute(status -> ReflectionTestUtils.invokeMethod(serial, section, args));
+                nanos[i] = System.nanoTime() - started;
+            }
+            System.out.printf("    %-26s %s%n", section, BenchmarkData.summary(nanos));
+        }
+    }
+
+    private static long build(DashboardService service, String range) {
+        long started = System.nanoTime();
+        DashboardResponse response = ReflectionTestUtils.invokeMethod(service, "buildDashboard", range, null);
+        long nanos = System.nanoTime() - started;
+        assertNotNull(response);
+        assertEquals(List.of(), response.getDegradedSections(), "a section fell back");
+        return nanos;
+    }
+}
@@ -0,0 +1,116 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.DashboardResponse;
+import com.inventory.entity.Category;
+import com.inventory.entity.Product;
+import com.inventory.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardInventoryMetricsTest {
+
+    @Autowired DashboardService dashboardService;
+    @Autowired EntityManagerFactory emf;
+
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired StockAdjustmentRepository stockAdjustmentRepository;
+    @Autowired SalesOrderRepository salesOrderRepository;
+    @Autowired PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+
+    private Category electronics;
+    private Category fashion;
+    private int skuSeq;
+
+    @BeforeEach
+    void setup() {
+        notificationRepository.deleteAll();
+        stockAdjustmentRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        purchaseOrderRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        electronics = categoryRepository.save(Category.builder().name("Electronics").isActive(true).build());
+        fashion = categoryRepository.save(Category.builder().name("Fashion").isActive(true).build());
+    }
+
+    @Test
+    void inventoryMetrics_useOneStatement_regardlessOfCatalogSize() {
+        seed(electronics, 5);
+        seed(fashion, 5);
+        long deptSmall = statementsFor(() -> dashboardService.buildInventoryMetrics("Electronics"));
+        long allSmall = statementsFor(() -> dashboardService.buildInventoryMetrics(null));
+
+        seed(electronics, 60);
+        seed(fashion, 60);
+        long deptLarge = statementsFor(() -> dashboardService.buildInventoryMetrics("Electronics"));
+        long allLarge = statementsFor(() -> dashboardService.buildInventoryMetrics(null));
+
+        assertEquals(1, deptSmall);
+        assertEquals(deptSmall, deptLarge);
+        assertEquals(1, allSmall);
+        assertEquals(allSmall, allLarge);
+    }
+
+    @Test
+    void inventoryMetrics_areScopedToDepartment() {
+        seed(electronics, 4); // quantities 0..3, reorder point 2
+        seed(fashion, 2);
+
+        DashboardResponse.InventoryMetrics dept = dashboardService.buildInventoryMetrics("electronics");
+        assertEquals(4, dept.getTotalProducts());
+        assertEquals(6, dept.getTotalQuantity());
+        assertEquals(1, dept.getOutOfStockCount());
+        assertEquals(3, dept.getLowStockCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(dept.getTotalInventoryValue()));
+
+        DashboardResponse.InventoryMetrics all = dashboardService.buildInventoryMetrics(null);
+        assertEquals(6, all.getTotalProducts());
+    }
+
+    private long statementsFor(Supplier<?> work) {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        try {
+            work.get();
+            return stats.getPrepareStatementCount();
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+    }
+
+    private void seed(Category category, int count) {
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(Product.builder()
+                    .sku("DM-" + (++skuSeq))
+                    .name("Product " + skuSeq)
+                    .category(category)
+                    .costPrice(new BigDecimal("5.00"))
+                    .unitPrice(new BigDecimal("9.00"))
+                    .quantityOnHand(i)
+                    .reorderPoint(2)
+                    .isActive(true)
+                    .build());
+        }
+        productRepository.saveAll(batch);
+    }
+}
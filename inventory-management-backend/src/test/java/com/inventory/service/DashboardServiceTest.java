@@ -0,0 +1,39 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.DashboardResponse;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SalesDailyRollupRepository;
+import com.inventory.repository.SalesOrderRepository;
+import com.inventory.security.SecurityUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    @Test
+    void sections_still_queued_when_the_caller_gives_up_are_skipped() {
+        List<Runnable> queued = new ArrayList<>();
+        TransactionTemplate sectionTx = mock(TransactionTemplate.class);
+        DashboardService service = new DashboardService(mock(ProductRepository.class), mock(SalesOrderRepository.class),
+                mock(SalesDailyRollupRepository.class), mock(SecurityUtils.class), mock(DashboardSnapshotCache.class),
+                mock(RequestCoalescer.class), sectionTx, queued::add);
+        ReflectionTestUtils.setField(service, "sectionTimeoutMs", 20L);
+
+        DashboardResponse response = ReflectionTestUtils.invokeMethod(service, "buildDashboard", "week", null);
+
+        assertNotNull(response);
+        assertEquals(10, response.getDegradedSections().size());
+        assertEquals(10, queued.size());
+
+        queued.forEach(Runnable::run);
+        verify(sectionTx, never()).execute(any());
+    }
+}
@@ -0,0 +1,47 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.DashboardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardSnapshotCacheTest {
+
+    @Test
+    void complete_snapshots_are_served_from_cache() {
+        DashboardSnapshotCache cache = new DashboardSnapshotCache(new SimpleMeterRegistry(), 60, 0);
+        AtomicInteger builds = new AtomicInteger();
+
+        DashboardResponse first = cache.get("ALL|week", () -> build(builds, List.of()));
+        DashboardResponse second = cache.get("ALL|week", () -> build(builds, List.of()));
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void degraded_snapshots_are_not_kept_for_the_full_ttl() {
+        DashboardSnapshotCache cache = new DashboardSnapshotCache(new SimpleMeterRegistry(), 60, 0);
+        AtomicInteger builds = new AtomicInteger();
+
+        DashboardResponse degraded = cache.get("ALL|week", () -> build(builds, List.of("salesMetrics")));
+        DashboardResponse next = cache.get("ALL|week", () -> build(builds, List.of()));
+
+        assertTrue(degraded.isDegraded());
+        assertFalse(next.isDegraded());
+        assertEquals(2, builds.get());
+
+        // once complete, the snapshot is cached again
+        cache.get("ALL|week", () -> build(builds, List.of()));
+        assertEquals(2, builds.get());
+    }
+
+    private static DashboardResponse build(AtomicInteger builds, List<String> degradedSections) {
+        builds.incrementAndGet();
+        return DashboardResponse.builder().degradedSections(degradedSections).build();
+    }
+}
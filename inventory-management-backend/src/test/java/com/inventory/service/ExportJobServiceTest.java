@@ -0,0 +1,67 @@
+package com.inventory.service;
+
+import com.inventory.dto.response.ExportJobResponse.Type;
+import com.inventory.entity.User;
+import com.inventory.security.SecurityUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportJobServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void startup_sweep_only_removes_expired_export_files() throws Exception {
+        Path unrelated = Files.writeString(dir.resolve("notes.txt"), "keep");
+        Path subdir = Files.createDirectory(dir.resolve(UUID.randomUUID() + ".csv.gz"));
+        Path fresh = Files.writeString(dir.resolve(UUID.randomUUID() + ".csv.gz.part"), "live job");
+        Path expired = Files.writeString(dir.resolve(UUID.randomUUID() + ".csv.gz"), "old");
+        Path expiredOther = Files.writeString(dir.resolve("report.csv.gz"), "not ours");
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(48)));
+        Files.setLastModifiedTime(expired, old);
+        Files.setLastModifiedTime(expiredOther, old);
+
+        ExportJobService service = new ExportJobService(mock(ExportService.class), mock(SecurityUtils.class), Runnable::run);
+        ReflectionTestUtils.setField(service, "spoolDirSetting", dir.toString());
+        ReflectionTestUtils.setField(service, "retentionHours", 24L);
+        service.initSpoolDir();
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(unrelated));
+        assertTrue(Files.isDirectory(subdir));
+        assertTrue(Files.exists(fresh));
+        assertTrue(Files.exists(expiredOther));
+    }
+
+    @Test
+    void rejected_submission_is_rethrown_and_leaves_no_job() throws Exception {
+        SecurityUtils securityUtils = mock(SecurityUtils.class);
+        User user = new User();
+        user.setEmail("ops@example.com");
+        when(securityUtils.getCurrentUser()).thenReturn(user);
+        ExportJobService service = new ExportJobService(mock(ExportService.class), securityUtils, task -> {
+            throw new TaskRejectedException("queue full");
+        });
+        ReflectionTestUtils.setField(service, "spoolDirSetting", dir.toString());
+        ReflectionTestUtils.setField(service, "retentionHours", 24L);
+        service.initSpoolDir();
+
+        assertThrows(TaskRejectedException.class, () -> service.submit(Type.PRODUCTS, null, null));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "jobs")).isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventory.service;
+
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.dto.request.SalesOrderRequest;
+import com.inventory.entity.User;
+import com.inventory.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Order throughput with JDBC insert batching on (hibernate.jdbc.batch_size)
+ * and off (batch size 1 on the session), both with pooled table ids.
+ * Rounds alternate between the two so drift hits both alike. Opt-in:
+ * {@code mvn test -Dtest=OrderBatchingBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBatchingBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 300);
+    private static final int LINES = 20;
+    private static final int ROUNDS = 3;
+
+    @Autowired SalesOrderService salesOrderService;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private User user;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setup() {
+        BenchmarkData.wipe(jdbc);
+        user = auth.ensureUser("bench-batching@test.com", "Password@123", auth.ensureRole("ADMIN"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        long category = BenchmarkData.category(jdbc, "Bench");
+        productIds = BenchmarkData.products(jdbc, category, "BAT", LINES, 10_000_000, 0, false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        BenchmarkData.wipe(jdbc);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void orders_per_second_with_and_without_batching() {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        run(tx, false, ORDERS / 5); // warm up
+        run(tx, true, ORDERS / 5);
+
+        double on = 0;
+        double off = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            off += run(tx, false, ORDERS);
+            on += run(tx, true, ORDERS);
+        }
+        off /= ROUNDS;
+        on /= ROUNDS;
+
+        System.out.printf("%d-line orders, %d per round, %d rounds:%n", LINES, ORDERS, ROUNDS);
+        System.out.printf("  batching off: %,.0f orders/s (%,.0f lines/s)%n", off, off * LINES);
+        System.out.printf("  batching on:  %,.0f orders/s (%,.0f lines/s)%n", on, on * LINES);
+    }
+
+    /** Orders per second; the service's transaction joins ours, so it uses the session we configure. */
+    private double run(TransactionTemplate tx, boolean batching, int orders) {
+        long started = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            SalesOrderRequest req = order();
+            tx.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                if (!batching) session.setJdbcBatchSize(1);
+                assertNotNull(salesOrderService.create(req).getId());
+            });
+        }
+        return orders / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private SalesOrderRequest order() {
+        List<SalesOrderRequest.Item> items = new ArrayList<>(LINES);
+        for (Long id : productIds) {
+            SalesOrderRequest.Item item = new SalesOrderRequest.Item();
+            item.setProductId(id);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        SalesOrderRequest req = new SalesOrderRequest();
+        req.setItems(items);
+        return req;
+    }
+}
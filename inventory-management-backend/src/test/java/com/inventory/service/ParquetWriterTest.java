@@ -0,0 +1,130 @@
+package com.inventory.service;
+
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.Util;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParquetWriterTest {
+
+    private static final List<ParquetWriter.Column> COLUMNS = List.of(
+            ParquetWriter.Column.string("order_number"),
+            ParquetWriter.Column.timestamp("order_date"),
+            ParquetWriter.Column.string("status"),
+            ParquetWriter.Column.int32("quantity"),
+            ParquetWriter.Column.decimal("line_total", 2));
+
+    @Test
+    void hybridEncoding_decodesBackToTheSameValues() throws IOException {
+        int[] mixed = new int[100];
+        for (int i = 0; i < mixed.length; i++) mixed[i] = i < 40 ? 3 : i % 7;
+
+        for (int[] values : List.of(new int[]{1}, new int[]{0, 1, 0, 1, 1}, new int[20], mixed)) {
+            int bitWidth = 3;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ParquetWriter.encodeHybrid(values, values.length, bitWidth, out);
+            assertArrayEquals(values, decodeHybrid(out.toByteArray(), bitWidth, values.length));
+        }
+    }
+
+    @Test
+    void file_isSplitIntoRowGroups_withFooterSchemaAndDictionaries() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParquetWriter w = new ParquetWriter(out, COLUMNS, 10);
+        LocalDateTime t = LocalDateTime.of(2026, 3, 1, 9, 0);
+        for (int i = 0; i < 25; i++) {
+            w.write("ORD-" + i, t.plusMinutes(i), i % 3 == 0 ? "PENDING" : "DELIVERED",
+                    i == 4 ? null : i, new BigDecimal("12.50").multiply(BigDecimal.valueOf(i)));
+        }
+        w.finish();
+
+        FileMetaData meta = footer(out.toByteArray());
+        assertEquals(25, meta.getNum_rows());
+        assertEquals(List.of(10L, 10L, 5L), meta.getRow_groups().stream().map(RowGroup::getNum_rows).toList());
+        assertEquals(List.of("schema", "order_number", "order_date", "status", "quantity", "line_total"),
+                meta.getSchema().stream().map(e -> e.name).toList());
+
+        RowGroup first = meta.getRow_groups().get(0);
+        ColumnMetaData orderNumber = first.getColumns().get(0).getMeta_data();
+        ColumnMetaData status = first.getColumns().get(2).getMeta_data();
+        ColumnMetaData quantity = first.getColumns().get(3).getMeta_data();
+        ColumnMetaData lineTotal = first.getColumns().get(4).getMeta_data();
+
+        assertTrue(orderNumber.getEncodings().contains(Encoding.PLAIN));
+        assertFalse(orderNumber.isSetDictionary_page_offset());
+        assertTrue(status.getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+        assertTrue(status.isSetDictionary_page_offset());
+
+        assertEquals(1, quantity.getStatistics().getNull_count());
+        assertEquals(0, littleEndian(lineTotal.getStatistics().getMin_value()).getLong());
+        assertEquals(11250, littleEndian(lineTotal.getStatistics().getMax_value()).getLong());
+    }
+
+    @Test
+    void emptyExport_isStillAValidFile() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ParquetWriter(out, COLUMNS).finish();
+
+        byte[] file = out.toByteArray();
+        assertEquals("PAR1", new String(file, 0, 4, StandardCharsets.US_ASCII));
+        FileMetaData meta = footer(file);
+        assertEquals(0, meta.getNum_rows());
+        assertTrue(meta.getRow_groups().isEmpty());
+    }
+
+    static FileMetaData footer(byte[] file) throws IOException {
+        assertEquals("PAR1", new String(file, file.length - 4, 4, StandardCharsets.US_ASCII));
+        int length = littleEndian(Arrays.copyOfRange(file, file.length - 8, file.length - 4)).getInt();
+        return Util.readFileMetaData(new ByteArrayInputStream(file, file.length - 8 - length, length));
+    }
+
+    private static ByteBuffer littleEndian(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int[] decodeHybrid(byte[] data, int bitWidth, int count) {
+        int[] values = new int[count];
+        int n = 0;
+        int pos = 0;
+        while (n < count) {
+            int header = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = data[pos++] & 0xFF;
+                header |= (b & 0x7F) << shift;
+                if (b < 0x80) break;
+            }
+            if ((header & 1) == 0) {
+                int value = 0;
+                for (int b = 0; b < (bitWidth + 7) / 8; b++) value |= (data[pos++] & 0xFF) << (8 * b);
+                for (int i = 0; i < header >>> 1 && n < count; i++) values[n++] = value;
+            } else {
+                int total = (header >>> 1) * 8;
+                for (int i = 0; i < total; i++) {
+                    int value = 0;
+                    for (int bit = 0; bit < bitWidth; bit++) {
+                        int at = i * bitWidth + bit;
+                        value |= ((data[pos + at / 8] >>> (at % 8)) & 1) << bit;
+                    }
+                    if (n < count) values[n++] = value;
+                }
+                pos += (header >>> 1) * bitWidth;
+            }
+        }
+        return values;
+    }
+}
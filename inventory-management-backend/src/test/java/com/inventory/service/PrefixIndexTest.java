@@ -0,0 +1,79 @@
+package com.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private static List<Long> ids(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::id).toList();
+    }
+
+    @Test
+    void complete_matchesWordAndDetailPrefixes_mostPopularFirst() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1, "Blue Widget", "WID-100", 1L, 5);
+        index.put(2, "Red Widget", "WID-200", 2L, 50);
+        index.put(3, "Widget Stand", "STD-300", 1L, 5);
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.complete("wid", null, 10)));
+        assertEquals(List.of(1L), ids(index.complete("blue w", null, 10)));
+        assertEquals(List.of(3L), ids(index.complete("std", null, 10)));
+        assertEquals(List.of(1L, 3L), ids(index.complete("WIDGET", 1L, 10)));
+        assertEquals(List.of(2L), ids(index.complete("wid", null, 1)));
+        assertTrue(index.complete("dget", null, 10).isEmpty()); // prefixes only
+    }
+
+    @Test
+    void put_replacesAndRemove_invalidateCachedRankings() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1, "Acme Supplies", "sales@acme.test", null, 1);
+        index.put(2, "Acme Tools", "hello@acmetools.test", null, 2);
+        assertEquals(List.of(2L, 1L), ids(index.complete("a", null, 10)));
+
+        index.put(1, "Acme Supplies", "sales@acme.test", null, 9);
+        assertEquals(List.of(1L, 2L), ids(index.complete("a", null, 10)));
+
+        index.put(2, "Zenith Tools", "hello@zenith.test", null, 2);
+        assertEquals(List.of(1L), ids(index.complete("acme", null, 10)));
+        assertEquals(List.of(2L), ids(index.complete("too", null, 10)));
+
+        index.remove(1);
+        assertTrue(index.complete("a", null, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void categoryRankings_areCachedPerCategoryAndInvalidatedByWrites() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1, "Lamp Shade", "LMP-1", 1L, 3);
+        index.put(2, "Lamp Stand", "LMP-2", 2L, 9);
+        index.put(3, "Lamp Bulb", "LMP-3", 1L, 5);
+
+        assertEquals(List.of(3L, 1L), ids(index.complete("l", 1L, 10)));
+        assertEquals(List.of(2L), ids(index.complete("l", 2L, 10)));
+        assertEquals(List.of(2L, 3L, 1L), ids(index.complete("l", null, 10)));
+
+        index.put(1, "Lamp Shade", "LMP-1", 1L, 20);
+        assertEquals(List.of(1L, 3L), ids(index.complete("l", 1L, 10)));
+
+        index.put(3, "Lamp Bulb", "LMP-3", 2L, 5);
+        assertEquals(List.of(1L), ids(index.complete("lamp", 1L, 10)));
+        assertEquals(List.of(2L, 3L), ids(index.complete("lamp", 2L, 10)));
+        assertEquals(List.of(1L), ids(index.complete("l", 1L, 1)));
+    }
+
+    @Test
+    void complete_capsResultsAtCachedSize() {
+        PrefixIndex index = new PrefixIndex();
+        for (long id = 1; id <= 100; id++) index.put(id, "Item " + id, "SKU-" + id, null, id);
+
+        List<Long> top = ids(index.complete("item", null, 1000));
+        assertEquals(PrefixIndex.CACHED, top.size());
+        assertEquals(100L, top.get(0));
+        assertEquals(81L, top.get(PrefixIndex.CACHED - 1));
+    }
+}
@@ -0,0 +1,124 @@
+package com.inventory.service;
+
+import com.inventory.event.StockChangedEvent;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scan latency of the barcode / SKU map at catalogue scale, with stock
+ * refreshes applied concurrently as they are during trading. Opt-in:
+ * {@code mvn test -Dtest=ProductLookupIndexBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductLookupIndexBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int LOOKUPS = 1_000_000;
+
+    @Test
+    void lookup_p99_stays_under_a_millisecond_while_stock_refreshes() throws Exception {
+        ProductRepository products = mock(ProductRepository.class);
+        when(products.streamLookupRows()).thenAnswer(inv -> IntStream.rangeClosed(1, PRODUCTS).mapToObj(i -> row(i, 10)));
+        when(products.findLookupRows(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            List<Object[]> rows = new ArrayList<>(ids.size());
+            for (Long id : ids) rows.add(row(id.intValue(), ThreadLocalRandom.current().nextInt(100)));
+            return rows;
+        });
+        ProductLookupIndex index = new ProductLookupIndex(products, Runnable::run, mock(PlatformTransactionManager.class));
+
+        long heapBefore = usedHeapAfterGc();
+        long loadStart = System.nanoTime();
+        index.rebuild();
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        long retained = usedHeapAfterGc() - heapBefore;
+
+        // a sale touches a few products; refreshes are applied in batches, as the scheduler would
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong batches = new AtomicLong();
+        Thread sales = new Thread(() -> {
+            Random random = new Random(7);
+            while (running.get()) {
+                for (int sale = 0; sale < 50; sale++) {
+                    index.onStockChanged(new StockChangedEvent(List.of(1L + random.nextInt(PRODUCTS), 1L + random.nextInt(PRODUCTS))));
+                }
+                index.applyChangedProducts();
+                batches.incrementAndGet();
+            }
+        });
+        sales.start();
+
+        Random random = new Random(42);
+        String[] codes = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int id = 1 + random.nextInt(PRODUCTS);
+            codes[i] = i % 4 == 0 ? sku(id) : barcode(id);
+        }
+        for (int i = 0; i < 100_000; i++) index.lookup(codes[i]); // warm up
+
+        long[] nanos = new long[LOOKUPS];
+        try {
+            for (int i = 0; i < LOOKUPS; i++) {
+                long started = System.nanoTime();
+                index.lookup(codes[i]); // throws if a refresh ever hides a product
+                nanos[i] = System.nanoTime() - started;
+            }
+        } finally {
+            running.set(false);
+            sales.join();
+        }
+        Arrays.sort(nanos);
+
+        long p99 = nanos[(int) (LOOKUPS * 0.99)];
+        System.out.printf("ProductLookupIndex, %,d products: load %,d ms, %,d refresh batches during the run%n",
+                PRODUCTS, loadMillis, batches.get());
+        System.out.printf("  heap retained after load: %,d MB (%d bytes per product)%n",
+                retained / (1024 * 1024), retained / PRODUCTS);
+        System.out.printf("  lookup: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.3f ms%n",
+                nanos[LOOKUPS / 2] / 1e3, p99 / 1e3, nanos[(int) (LOOKUPS * 0.999)] / 1e3, nanos[LOOKUPS - 1] / 1e6);
+        assertTrue(batches.get() > 0);
+        assertTrue(p99 < 1_000_000, "p99 " + p99 + " ns");
+    }
+
+    /** Approximate: a few full collections until the figure settles. */
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+
+    private static Object[] row(int id, int quantity) {
+        return new Object[]{(long) id, sku(id), barcode(id), "Product " + id, BigDecimal.valueOf(1999, 2), quantity, null};
+    }
+
+    private static String sku(int id) {
+        return "SKU-" + id;
+    }
+
+    private static String barcode(int id) {
+        return String.valueOf(4_000_000_000_000L + id);
+    }
+}
@@ -0,0 +1,86 @@
+package com.inventory.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(registry);
+    }
+
+    @Test
+    void concurrentCallsForSameKey_shareOneExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            Callable<String> call = () -> coalescer.execute("report", "ALL", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "result";
+            });
+
+            Future<String> leader = pool.submit(call);
+            while (runs.get() == 0) Thread.onSpinWait();
+            Future<String> f1 = pool.submit(call);
+            Future<String> f2 = pool.submit(call);
+            while (coalesced() < 2) Thread.onSpinWait();
+
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", f1.get(5, TimeUnit.SECONDS));
+            assertEquals("result", f2.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+            assertEquals(1.0, registry.get("request.coalescer.calls").tag("result", "executed").counter().count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void differentKeys_andLaterCalls_runSeparately() {
+        AtomicInteger runs = new AtomicInteger();
+
+        coalescer.execute("report", "dept:A", runs::incrementAndGet);
+        coalescer.execute("report", "dept:B", runs::incrementAndGet);
+        coalescer.execute("report", "dept:A", runs::incrementAndGet);
+
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void failure_isPropagated_andNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("report", "ALL", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", coalescer.execute("report", "ALL", () -> "ok"));
+    }
+
+    private double coalesced() {
+        var counter = registry.find("request.coalescer.calls").tag("result", "coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
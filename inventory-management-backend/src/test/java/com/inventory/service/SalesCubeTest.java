@@ -0,0 +1,52 @@
+package com.inventory.service;
+
+import com.inventory.entity.SalesOrder.OrderStatus;
+import com.inventory.event.SalesOrderChangedEvent;
+import com.inventory.repository.SalesOrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SalesCubeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Test
+    void a_published_view_keeps_its_rows_while_a_changed_order_is_replaced() {
+        SalesOrderRepository salesOrders = mock(SalesOrderRepository.class);
+        when(salesOrders.streamCubeRows()).thenAnswer(inv -> Stream.of(line(1, 2, "10.00"), line(2, 1, "5.00")));
+        when(salesOrders.findCubeRowsByOrderIds(any())).thenReturn(List.<Object[]>of(line(1, 3, "15.00")));
+        SalesCube cube = new SalesCube(salesOrders, Runnable::run, mock(PlatformTransactionManager.class));
+        cube.rebuild();
+        Object published = ReflectionTestUtils.getField(cube, "view");
+
+        cube.onSalesOrderChanged(new SalesOrderChangedEvent(1L));
+        cube.applyChangedOrders();
+        assertEquals(4, total(cube).getQuantity());
+
+        // a reader still scanning the earlier view sees order 1 as it was, not missing
+        ReflectionTestUtils.setField(cube, "view", published);
+        assertEquals(3, total(cube).getQuantity());
+        assertEquals(new BigDecimal("15.00"), total(cube).getRevenue());
+    }
+
+    private static SalesCube.CubeRow total(SalesCube cube) {
+        List<SalesCube.CubeRow> rows = cube.query(new SalesCube.CubeQuery()).getRows();
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    private static Object[] line(long orderId, int quantity, String total) {
+        return new Object[]{orderId, DAY, OrderStatus.DELIVERED, "General", "SKU-1", "Cat", quantity, new BigDecimal(total)};
+    }
+}
@@ -0,0 +1,107 @@
+package com.inventory.service;
+
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.dto.request.SalesOrderRequest;
+import com.inventory.entity.User;
+import com.inventory.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Time and JDBC statements per {@link SalesOrderService#create} for orders of
+ * 1, 10, 100 and 1000 lines, each order in its own transaction as from the
+ * controller. Opt-in:
+ * {@code mvn test -Dtest=SalesOrderCreateBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesOrderCreateBenchmarkTest {
+
+    private static final int[] LINES = {1, 10, 100, 1000};
+
+    @Autowired SalesOrderService salesOrderService;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    private User user;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setup() {
+        BenchmarkData.wipe(jdbc);
+        user = auth.ensureUser("bench-orders@test.com", "Password@123", auth.ensureRole("ADMIN"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        long category = BenchmarkData.category(jdbc, "Bench");
+        // stock for every run, and no low-stock alerts along the way
+        productIds = BenchmarkData.products(jdbc, category, "ORD", 1000, 10_000_000, 0, false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        BenchmarkData.wipe(jdbc);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void create_time_by_order_size() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        for (int lines : LINES) {
+            for (int i = 0; i < 5; i++) salesOrderService.create(order(lines)); // warm up
+
+            int orders = Math.max(10, 2000 / lines);
+            long[] nanos = new long[orders];
+            stats.setStatisticsEnabled(true);
+            stats.clear();
+            try {
+                for (int i = 0; i < orders; i++) {
+                    SalesOrderRequest req = order(lines);
+                    long started = System.nanoTime();
+                    salesOrderService.create(req);
+                    nanos[i] = System.nanoTime() - started;
+                }
+            } finally {
+                stats.setStatisticsEnabled(false);
+            }
+            double meanMs = Arrays.stream(nanos).average().orElse(0) / 1e6;
+            // Hibernate's count; the stock decrement goes through JdbcTemplate and is not in it
+            System.out.printf("create, %4d lines x %3d orders: %s, %.3f ms/line, %d statements prepared per order%n",
+                    lines, orders, BenchmarkData.summary(nanos), meanMs / lines, stats.getPrepareStatementCount() / orders);
+            assertEquals(orders * (lines + 1L), stats.getEntityInsertCount());
+        }
+    }
+
+    private SalesOrderRequest order(int lines) {
+        List<SalesOrderRequest.Item> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            SalesOrderRequest.Item item = new SalesOrderRequest.Item();
+            item.setProductId(productIds.get(i));
+            item.setQuantity(1);
+            items.add(item);
+        }
+        SalesOrderRequest req = new SalesOrderRequest();
+        req.setItems(items);
+        return req;
+    }
+}
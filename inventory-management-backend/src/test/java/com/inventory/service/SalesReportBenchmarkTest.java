@@ -0,0 +1,190 @@
+package com.inventory.service;
+
+import com.inventory.config.IdGeneratorMigration;
+import com.inventory.controller.TestAuthHelper;
+import com.inventory.entity.SalesOrder;
+import com.inventory.entity.User;
+import com.inventory.repository.SalesOrderRepository;
+import com.inventory.repository.UserRepository;
+import com.inventory.service.ReportService.DailySales;
+import com.inventory.service.ReportService.SalesReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ReportService#salesReport} over a seeded quarter: the entity-graph
+ * path it replaced (every order, line and product loaded, summed in Java)
+ * against the grouped queries. Reports latency, bytes allocated by the calling
+ * thread, and heap still live at the end of the report's transaction, which
+ * is where the loaded entities peak. Opt-in:
+ * {@code mvn test -Dtest=SalesReportBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesReportBenchmarkTest {
+
+    private static final int DAYS = 90;
+    private static final int ORDERS_PER_DAY = Integer.getInteger("benchmark.orders-per-day", 300);
+    private static final int LINES = 3;
+    private static final int RUNS = 5;
+
+    @Autowired ReportService reportService;
+    @Autowired SalesOrderRepository salesOrders;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired IdGeneratorMigration idGenerators;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired UserRepository userRepository;
+    @Autowired TestAuthHelper auth;
+
+    private User user;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setup() {
+        BenchmarkData.wipe(jdbc);
+        user = auth.ensureUser("bench-report@test.com", "Password@123", auth.ensureRole("ADMIN"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        long category = BenchmarkData.category(jdbc, "Bench");
+        List<Long> products = BenchmarkData.products(jdbc, category, "REP", 1000, 1000, 0, false);
+
+        start = LocalDate.now().minusDays(DAYS).atStartOfDay();
+        end = start.plusDays(DAYS);
+        BenchmarkData.salesOrders(jdbc, user.getId(), products, start, DAYS, ORDERS_PER_DAY, LINES);
+        ReflectionTestUtils.invokeMethod(idGenerators, "alignGenerators"); // past the ids inserted above
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        BenchmarkData.wipe(jdbc);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void entity_graph_against_grouped_sql_on_a_quarter() throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        Supplier<SalesReport> previous = () -> tx.execute(status -> previousSalesReport());
+        Supplier<SalesReport> current = () -> reportService.salesReport(start, end, null);
+
+        SalesReport before = previous.get();
+        SalesReport after = current.get();
+        assertEquals(before.getTotalOrders(), after.getTotalOrders());
+        assertEquals(0, before.getTotalRevenue().compareTo(after.getTotalRevenue()));
+        assertEquals(before.getTotalItemsSold(), after.getTotalItemsSold());
+        assertEquals(before.getDailySales().size(), after.getDailySales().size());
+
+        Result old = measure(tx, previous);
+        Result now = measure(tx, current);
+
+        System.out.printf("Sales report, %d days x %d orders x %d lines (%,d orders):%n",
+                DAYS, ORDERS_PER_DAY, LINES, DAYS * ORDERS_PER_DAY);
+        System.out.printf("  entity graph: %s, %,d MB allocated per report, %,d MB live at end of transaction%n",
+                old.latency, old.allocated / (1024 * 1024), old.live / (1024 * 1024));
+        System.out.printf("  grouped SQL:  %s, %,d KB allocated per report, %,d KB live at end of transaction%n",
+                now.latency, now.allocated / 1024, now.live / 1024);
+    }
+
+    private record Result(String latency, long allocated, long live) {
+    }
+
+    private static Result measure(TransactionTemplate tx, Supplier<SalesReport> report) throws InterruptedException {
+        report.get(); // warm up
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long[] nanos = new long[RUNS];
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            assertNotNull(report.get());
+            nanos[i] = System.nanoTime() - started;
+        }
+        long allocated = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / RUNS;
+
+        // the service joins this transaction, so whatever it loaded is still reachable here
+        long baseline = usedHeapAfterGc();
+        Long live = tx.execute(status -> {
+            SalesReport held = report.get();
+            try {
+                long used = usedHeapAfterGc() - baseline;
+                assertNotNull(held);
+                return used;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return new Result(BenchmarkData.summary(nanos), allocated, Math.max(0, live));
+    }
+
+    /** ReportService.salesReport before the grouped queries, for a user with no department scope. */
+    private SalesReport previousSalesReport() {
+        List<SalesOrder> nonCancelled = salesOrders.findByOrderDateBetween(start, end).stream()
+                .filter(o -> o.getStatus() != SalesOrder.OrderStatus.CANCELLED)
+                .toList();
+
+        BigDecimal totalRevenue = nonCancelled.stream()
+                .map(SalesOrder::getTotalAmount)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalItemsSold = nonCancelled.stream()
+                .flatMap(o -> o.getItems().stream())
+                .mapToInt(i -> i.getQuantity() == null ? 0 : i.getQuantity())
+                .sum();
+
+        Map<String, DailySales> byDay = new LinkedHashMap<>();
+        nonCancelled.forEach(o -> {
+            String day = o.getOrderDate() != null ? o.getOrderDate().toLocalDate().toString() : "unknown";
+            DailySales ds = byDay.computeIfAbsent(day, k -> new DailySales(day, 0, BigDecimal.ZERO));
+            ds.setOrderCount(ds.getOrderCount() + 1);
+            ds.setRevenue(ds.getRevenue().add(o.getTotalAmount() == null ? BigDecimal.ZERO : o.getTotalAmount()));
+        });
+
+        return SalesReport.builder()
+                .generatedAt(LocalDateTime.now())
+                .startDate(start)
+                .endDate(end)
+                .totalOrders(nonCancelled.size())
+                .totalRevenue(totalRevenue)
+                .totalItemsSold(totalItemsSold)
+                .dailySales(new ArrayList<>(byDay.values()))
+                .build();
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+}
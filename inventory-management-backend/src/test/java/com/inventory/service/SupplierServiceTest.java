@@ -10,6 +10,7 @@ import com.inventory.security.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.List;
@@ -30,7 +31,7 @@ class SupplierServiceTest {
         MockitoAnnotations.openMocks(this);
         supplierRepository = mock(SupplierRepository.class);
         securityUtils = mock(SecurityUtils.class);
-        supplierService = new SupplierService(supplierRepository, securityUtils);
+        supplierService = new SupplierService(supplierRepository, securityUtils, mock(ApplicationEventPublisher.class));
     }
 
     @Test
@@ -0,0 +1,115 @@
+package com.inventory.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load and query timings for the product search index at catalogue scale.
+ * Opt-in, as it needs about a gigabyte of heap and a minute:
+ * {@code mvn test -Dtest=TrigramIndexBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrigramIndexBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int QUERIES = 2_000;
+    private static final int CATEGORIES = 40;
+
+    @Test
+    void load_and_query_one_million_products() {
+        Random random = new Random(42);
+        String[] words = new String[5_000];
+        for (int i = 0; i < words.length; i++) words[i] = word(random);
+
+        String[] names = new String[PRODUCTS];
+        String[] skus = new String[PRODUCTS];
+        long[] categories = new long[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int w = 2 + random.nextInt(3); w > 0; w--) {
+                if (!name.isEmpty()) name.append(' ');
+                name.append(words[random.nextInt(words.length)]);
+            }
+            names[i] = name.toString();
+            skus[i] = "SKU-" + (1_000_000 + i);
+            categories[i] = 1 + random.nextInt(CATEGORIES);
+        }
+
+        TrigramIndex index = new TrigramIndex();
+        long loadStart = System.nanoTime();
+        for (int i = 0; i < PRODUCTS; i++) index.put(i + 1, names[i], skus[i], categories[i]);
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        assertEquals(PRODUCTS, index.size());
+
+        // what a user types: a 3-8 character slice of some product's name or SKU
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            int doc = random.nextInt(PRODUCTS);
+            String source = i % 10 == 0 ? skus[doc] : names[doc];
+            int len = Math.min(source.length(), 3 + random.nextInt(6));
+            int from = random.nextInt(source.length() - len + 1);
+            queries.add(source.substring(from, from + len));
+        }
+        for (String q : queries.subList(0, 200)) index.search(q, null); // warm up
+
+        long[] all = time(queries, q -> index.search(q, null).length);
+        long[] scoped = time(queries, q -> index.search(q, (long) (1 + Math.floorMod(q.hashCode(), CATEGORIES))).length);
+
+        // the LIKE '%q%' equivalent, on a sample: same answers, and what the index saves
+        long scanNanos = 0;
+        for (String q : queries.subList(0, 20)) {
+            String needle = TrigramIndex.normalize(q);
+            long started = System.nanoTime();
+            long[] expected = LongStream.range(0, PRODUCTS)
+                    .filter(i -> TrigramIndex.normalize(names[(int) i]).contains(needle) || TrigramIndex.normalize(skus[(int) i]).contains(needle))
+                    .map(i -> i + 1)
+                    .toArray();
+            scanNanos += System.nanoTime() - started;
+            assertArrayEquals(expected, index.search(q, null), q);
+        }
+
+        System.out.printf("TrigramIndex, %,d products: load %,d ms%n", PRODUCTS, loadMillis);
+        System.out.printf("  search (all categories): %s%n", summary(all));
+        System.out.printf("  search (one category):   %s%n", summary(scoped));
+        System.out.printf("  linear scan, for comparison: mean %.1f ms%n", scanNanos / 20 / 1e6);
+    }
+
+    private interface Query {
+        int run(String q);
+    }
+
+    private static long[] time(List<String> queries, Query query) {
+        long[] nanos = new long[queries.size()];
+        long hits = 0;
+        for (int i = 0; i < nanos.length; i++) {
+            long started = System.nanoTime();
+            hits += query.run(queries.get(i));
+            nanos[i] = System.nanoTime() - started;
+        }
+        assertTrue(hits > 0);
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static String summary(long[] sortedNanos) {
+        return String.format("p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                sortedNanos[sortedNanos.length / 2] / 1e6,
+                sortedNanos[(int) (sortedNanos.length * 0.99)] / 1e6,
+                sortedNanos[sortedNanos.length - 1] / 1e6);
+    }
+
+    private static String word(Random random) {
+        char[] c = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < c.length; i++) c[i] = (char) ('a' + random.nextInt(26));
+        c[0] = Character.toUpperCase(c[0]);
+        return new String(c);
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void search_matchesSubstringsOfNameOrSku_caseInsensitively() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(3, "Blue Widget", "WID-100", 1L);
+        index.put(1, "Red Widget", "WID-200", 2L);
+        index.put(2, "Gadget", "GAD-300", 1L);
+
+        assertArrayEquals(new long[]{1, 3}, index.search("widget", null));
+        assertArrayEquals(new long[]{2}, index.search("d-3", null));
+        assertArrayEquals(new long[]{2, 3}, index.search("dget", 1L));
+        assertArrayEquals(new long[0], index.search("xyz", null));
+    }
+
+    @Test
+    void search_confirmsCandidates_soScatteredTrigramsDoNotMatch() {
+        TrigramIndex index = new TrigramIndex();
+        // contains "abc" and "bcd" but not "abcd"
+        index.put(1, "abc bcd", "S-1", null);
+
+        assertArrayEquals(new long[0], index.search("abcd", null));
+    }
+
+    @Test
+    void put_replacesAndRemove_dropsDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Old Name", "SKU-1", null);
+        index.put(1, "New Name", "SKU-1", null);
+
+        assertArrayEquals(new long[0], index.search("old", null));
+        assertArrayEquals(new long[]{1}, index.search("new", null));
+
+        index.remove(1);
+        assertArrayEquals(new long[0], index.search("sku", null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void manyReplacements_compactWithoutLosingLiveDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 1000; id++) index.put(id, "Product " + id + " r" + round, "SKU-" + id, null);
+        }
+
+        assertEquals(1000, index.size());
+        assertEquals(1000, index.search(" r4", null).length);
+        assertEquals(0, index.search(" r3", null).length);
+        assertEquals(11, index.search("sku-42", null).length); // 42 and 420..429
+    }
+
+    @Test
+    void shortQueries_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TrigramIndex().search("ab", null));
+    }
+}
@@ -10,6 +10,7 @@ export const salesOrderApi = {
 export const purchaseOrderApi = {
   getAll: async (page, size) => (await axiosInstance.get('/purchases/orders', { params: { page, size } })).data,
   getPending: async () => (await axiosInstance.get('/purchases/orders/pending')).data,
+  getById: async (id) => (await axiosInstance.get(`/purchases/orders/${id}`)).data,
   create: async (data) => (await axiosInstance.post('/purchases/orders', data)).data,
   receive: async (id, items) => (await axiosInstance.post(`/purchases/orders/${id}/receive`, items)).data,
   updateStatus: async (id, status) => (await axiosInstance.patch(`/purchases/orders/${id}/status`, null, { params: { status } })).data,
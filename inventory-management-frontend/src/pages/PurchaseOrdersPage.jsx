@@ -49,8 +49,8 @@ export const PurchaseOrdersPage = () => {
 
   const columns = [
     { title: 'PO Number', dataIndex: 'orderNumber', key: 'orderNumber' },
-    { title: 'Supplier', dataIndex: 'supplier', key: 'supplier', render: (s) => s?.name || '-' },
-    { title: 'Items', dataIndex: 'items', key: 'items', render: (items) => items?.length || 0 },
+    { title: 'Supplier', dataIndex: 'supplierName', key: 'supplier', render: (s) => s || '-' },
+    { title: 'Items', dataIndex: 'itemCount', key: 'items', render: (n) => n || 0 },
     { title: 'Total', dataIndex: 'totalAmount', key: 'total', render: (v) => formatCurrency(v) },
     { title: 'Status', dataIndex: 'status', key: 'status' },
     {
@@ -64,13 +64,7 @@ export const PurchaseOrdersPage = () => {
           {['ORDERED', 'PARTIALLY_RECEIVED'].includes(row.status) && (
             <button
               className="p-1.5 hover:bg-green-50 text-green-700 rounded"
-              onClick={() => {
-                setSelectedOrder(row);
-                const init = {};
-                row.items?.forEach((it) => { init[it.id] = 0; });
-                setReceivedItems(init);
-                setShowReceiveModal(true);
-              }}
+              onClick={() => openReceive(row.id)}
             >
               <Truck className="w-4 h-4" />
             </button>
@@ -80,6 +74,21 @@ export const PurchaseOrdersPage = () => {
     },
   ];
 
+  // List rows only carry the line count; the receive form needs the lines themselves
+  const openReceive = async (id) => {
+    try {
+      const res = await purchaseOrderApi.getById(id);
+      const order = res?.data;
+      const init = {};
+      order?.items?.forEach((it) => { init[it.id] = 0; });
+      setSelectedOrder(order);
+      setReceivedItems(init);
+      setShowReceiveModal(true);
+    } catch (e) {
+      toast.error(e?.response?.data?.message || 'Failed to load purchase order');
+    }
+  };
+
   const confirmReceive = () => {
     const items = Object.entries(receivedItems)
       .filter(([_, qty]) => Number(qty) > 0)
@@ -133,7 +142,7 @@ export const PurchaseOrdersPage = () => {
               </div>
               <div>
                 <p className="text-sm text-gray-500">Supplier</p>
-                <p className="font-medium">{selectedOrder.supplier?.name}</p>
+                <p className="font-medium">{selectedOrder.supplierName}</p>
               </div>
             </div>
 
@@ -153,8 +162,8 @@ export const PurchaseOrdersPage = () => {
                     return (
                       <tr key={it.id}>
                         <td className="px-4 py-3">
-                          <p className="font-medium">{it.product?.name}</p>
-                          <p className="text-sm text-gray-500">{it.product?.sku}</p>
+                          <p className="font-medium">{it.productName}</p>
+                          <p className="text-sm text-gray-500">{it.productSku}</p>
                         </td>
                         <td className="px-4 py-3 text-center">{it.quantityOrdered}</td>
                         <td className="px-4 py-3 text-center">{it.quantityReceived}</td>
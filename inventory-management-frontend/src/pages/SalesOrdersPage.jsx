@@ -44,11 +44,11 @@ export const SalesOrdersPage = () => {
     { title: 'Order #', dataIndex: 'orderNumber', key: 'orderNumber' },
     {
       title: 'Customer',
-      dataIndex: 'customer',
+      dataIndex: 'customerName',
       key: 'customer',
-      render: (c) => c?.name || 'Walk-in Customer',
+      render: (c) => c || 'Walk-in Customer',
     },
-    { title: 'Items', dataIndex: 'items', key: 'items', render: (items) => items?.length || 0 },
+    { title: 'Items', dataIndex: 'itemCount', key: 'items', render: (n) => n || 0 },
     { title: 'Total', dataIndex: 'totalAmount', key: 'total', render: (v) => formatCurrency(v) },
     { title: 'Status', dataIndex: 'status', key: 'status' },
     {